@@ -22,6 +22,7 @@ import com.j2js.assembly.MemberUnit;
 import com.j2js.assembly.ProcedureUnit;
 import com.j2js.assembly.Project;
 import com.j2js.assembly.Signature;
+import com.j2js.dom.MethodBinding;
 
 /**
  * 
@@ -42,6 +43,9 @@ public class Assembly {
 
 	private Set<Signature> unprocessedTaintedSignatures = new HashSet<Signature>();
 
+	// Members tainted while processing this assembly.
+	private Set<MemberUnit> taintedMembers = new HashSet<MemberUnit>();
+
 	String[] patterns;
 
 	private Collection<ClassUnit> resolvedTypes = new ArrayList<ClassUnit>();
@@ -231,6 +235,27 @@ public class Assembly {
 		}
 	}
 
+	/**
+	 * Untaints all units which are still tainted by a previous assembly of the
+	 * same project, but are not referenced from the entry points of this
+	 * assembly.
+	 */
+	public void untaintUnreferenced(Project project) {
+		for (ClassUnit clazz : project.getClasses()) {
+			clazz.untaint();
+			if (!clazz.isResolved())
+				continue;
+			for (MemberUnit member : clazz.getDeclaredMembers()) {
+				if (!taintedMembers.contains(member)) {
+					member.untaint();
+				}
+			}
+		}
+		for (MemberUnit member : taintedMembers) {
+			member.getDeclaringClass().setSuperTainted();
+		}
+	}
+
 	public void processSingle(Project project, Signature signature) {
 		ClassUnit clazz = resolve(project, signature.className());
 		String methodPart = signature.relativeSignature();
@@ -337,7 +362,18 @@ public class Assembly {
 		// }
 		// } else {
 		Signature s = project.getSignature(signature);
-		if (s.isClass()) {
+		ClassHeader header = s.isClass() ? project.getClassHeader(s.className()) : null;
+		if (header != null) {
+			// The class is compiled once one of its members is processed.
+			for (ClassHeader.Member field : header.getFields()) {
+				taint(project.getSignature(s.className(), field.getName()));
+			}
+			for (ClassHeader.Member method : header.getMethods()) {
+				MethodBinding binding = MethodBinding.lookup(project, s.className(), method.getName(),
+						method.getDescriptor());
+				taint(project.getSignature(binding.toString()));
+			}
+		} else if (s.isClass()) {
 			ClassUnit clazz = resolve(project, s.className());
 			for (MemberUnit member : clazz.getDeclaredMembers()) {
 				taint(member.getAbsoluteSignature(project));
@@ -369,6 +405,7 @@ public class Assembly {
 
 	public void taint(Project project, MemberUnit member) {
 		member.setTainted();
+		taintedMembers.add(member);
 		// TODO: Tainting super types in neccesary for generating only?
 		member.getDeclaringClass().setSuperTainted();
 		if (member instanceof ProcedureUnit) {
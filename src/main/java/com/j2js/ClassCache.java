@@ -0,0 +1,119 @@
+package com.j2js;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.bcel.classfile.JavaClass;
+
+/**
+ * Least recently used cache of parsed classes, keyed by class name and
+ * content hash of the class file. The size of the cache is bounded by the
+ * total length of the cached class files. A cache may be shared by several
+ * projects, for example by all compilations of a compile server.
+ */
+public class ClassCache {
+
+	private Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+	private long maxBytes;
+
+	private long bytes;
+
+	private int hits;
+
+	private int misses;
+
+	private int evictions;
+
+	/**
+	 * @param maxBytes
+	 *            maximum total length of the cached class files
+	 */
+	public ClassCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Returns the cached class for the specified class file, or null.
+	 */
+	public synchronized JavaClass get(String className, String contentHash) {
+		Entry entry = entries.get(key(className, contentHash));
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.javaClass;
+	}
+
+	/**
+	 * Adds a parsed class, evicting the least recently used classes if the
+	 * cache grows too large.
+	 *
+	 * @param length
+	 *            the length of the class file
+	 */
+	public synchronized void put(String className, String contentHash, JavaClass javaClass, int length) {
+		if (length > maxBytes) {
+			return;
+		}
+		Entry previous = entries.put(key(className, contentHash), new Entry(javaClass, length));
+		if (previous != null) {
+			bytes -= previous.length;
+		}
+		bytes += length;
+		Iterator<Entry> iter = entries.values().iterator();
+		while (bytes > maxBytes) {
+			bytes -= iter.next().length;
+			iter.remove();
+			evictions++;
+		}
+	}
+
+	private static String key(String className, String contentHash) {
+		return className + '@' + contentHash;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	public synchronized int getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return the total length of the cached class files
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return entries.size() + " classes (" + bytes / 1024 + " KiB), " + hits + " hits, " + misses + " misses, "
+				+ evictions + " evictions";
+	}
+
+	private static class Entry {
+
+		JavaClass javaClass;
+
+		int length;
+
+		Entry(JavaClass javaClass, int length) {
+			this.javaClass = javaClass;
+			this.length = length;
+		}
+	}
+}
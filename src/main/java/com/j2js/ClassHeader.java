@@ -0,0 +1,254 @@
+package com.j2js;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The header of a class file: names of the class and its super types, access
+ * flags and the declared members. It is scanned from the raw bytes without
+ * creating attribute or code objects, which makes it much cheaper than a full
+ * parse.
+ */
+public class ClassHeader {
+
+	private static final int ACC_INTERFACE = 0x0200;
+
+	private static final int ACC_ABSTRACT = 0x0400;
+
+	private static final int ACC_ENUM = 0x4000;
+
+	private int accessFlags;
+
+	private String className;
+
+	private String superClassName;
+
+	private List<String> interfaceNames = new ArrayList<String>();
+
+	private List<Member> fields = new ArrayList<Member>();
+
+	private List<Member> methods = new ArrayList<Member>();
+
+	/**
+	 * Scans the class file in the specified buffer, starting at its position.
+	 * The position of the buffer is not changed.
+	 */
+	public static ClassHeader scan(ByteBuffer buffer) {
+		ByteBuffer in = buffer.duplicate();
+		if (in.getInt() != 0xCAFEBABE) {
+			throw new RuntimeException("Not a class file");
+		}
+		// Minor and major version.
+		in.getInt();
+
+		int count = in.getShort() & 0xffff;
+		// Position of each UTF8 entry and name index of each class entry.
+		int[] utf8 = new int[count];
+		int[] classes = new int[count];
+		for (int i = 1; i < count; i++) {
+			int tag = in.get();
+			switch (tag) {
+			case 1: // Utf8
+				utf8[i] = in.position();
+				in.position(in.position() + 2 + (in.getShort() & 0xffff));
+				break;
+			case 7: // Class
+				classes[i] = in.getShort() & 0xffff;
+				break;
+			case 8: // String
+			case 16: // MethodType
+			case 19: // Module
+			case 20: // Package
+				skip(in, 2);
+				break;
+			case 15: // MethodHandle
+				skip(in, 3);
+				break;
+			case 3: // Integer
+			case 4: // Float
+			case 9: // Fieldref
+			case 10: // Methodref
+			case 11: // InterfaceMethodref
+			case 12: // NameAndType
+			case 17: // Dynamic
+			case 18: // InvokeDynamic
+				skip(in, 4);
+				break;
+			case 5: // Long
+			case 6: // Double
+				skip(in, 8);
+				// Takes two entries.
+				i++;
+				break;
+			default:
+				throw new RuntimeException("Invalid constant pool tag " + tag);
+			}
+		}
+
+		ClassHeader header = new ClassHeader();
+		header.accessFlags = in.getShort() & 0xffff;
+		header.className = className(in, utf8, classes, in.getShort() & 0xffff);
+		header.superClassName = className(in, utf8, classes, in.getShort() & 0xffff);
+		int interfaceCount = in.getShort() & 0xffff;
+		for (int i = 0; i < interfaceCount; i++) {
+			header.interfaceNames.add(className(in, utf8, classes, in.getShort() & 0xffff));
+		}
+		readMembers(in, utf8, header.fields);
+		readMembers(in, utf8, header.methods);
+		return header;
+	}
+
+	private static void readMembers(ByteBuffer in, int[] utf8, List<Member> members) {
+		int count = in.getShort() & 0xffff;
+		for (int i = 0; i < count; i++) {
+			int access = in.getShort() & 0xffff;
+			int name = in.getShort() & 0xffff;
+			int descriptor = in.getShort() & 0xffff;
+			members.add(new Member(access, utf8(in, utf8[name]), utf8(in, utf8[descriptor])));
+			int attributeCount = in.getShort() & 0xffff;
+			for (int j = 0; j < attributeCount; j++) {
+				// Skip name index, then the attribute.
+				skip(in, 2);
+				skip(in, in.getInt());
+			}
+		}
+	}
+
+	private static String className(ByteBuffer in, int[] utf8, int[] classes, int index) {
+		if (index == 0) {
+			return null;
+		}
+		return utf8(in, utf8[classes[index]]).replace('/', '.');
+	}
+
+	private static void skip(ByteBuffer in, int count) {
+		in.position(in.position() + count);
+	}
+
+	/**
+	 * Decodes the modified UTF-8 string at the specified position.
+	 */
+	private static String utf8(ByteBuffer in, int position) {
+		int length = ((in.get(position) & 0xff) << 8) | (in.get(position + 1) & 0xff);
+		int end = position + 2 + length;
+		char[] chars = new char[length];
+		int count = 0;
+		for (int i = position + 2; i < end;) {
+			int b = in.get(i++) & 0xff;
+			if (b < 0x80) {
+				chars[count++] = (char) b;
+			} else if ((b & 0xe0) == 0xc0) {
+				chars[count++] = (char) (((b & 0x1f) << 6) | (in.get(i++) & 0x3f));
+			} else {
+				chars[count++] = (char) (((b & 0x0f) << 12) | ((in.get(i++) & 0x3f) << 6) | (in.get(i++) & 0x3f));
+			}
+		}
+		return new String(chars, 0, count);
+	}
+
+	public int getAccessFlags() {
+		return accessFlags;
+	}
+
+	public boolean isInterface() {
+		return (accessFlags & ACC_INTERFACE) != 0;
+	}
+
+	/**
+	 * Returns true if this class is an enum type. As with Class#isEnum(), the
+	 * classes of enum constants with a body are not.
+	 */
+	public boolean isEnum() {
+		return (accessFlags & ACC_ENUM) != 0 && "java.lang.Enum".equals(superClassName);
+	}
+
+	/**
+	 * @return the names of the enum constants in declaration order
+	 */
+	public List<String> getEnumConstants() {
+		List<String> list = new ArrayList<String>();
+		for (Member field : fields) {
+			if ((field.getAccessFlags() & ACC_ENUM) != 0) {
+				list.add(field.getName());
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * @return the fully qualified name of the class
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the fully qualified name of the super class, or null for
+	 *         java.lang.Object
+	 */
+	public String getSuperClassName() {
+		return superClassName;
+	}
+
+	public List<String> getInterfaceNames() {
+		return Collections.unmodifiableList(interfaceNames);
+	}
+
+	public List<Member> getFields() {
+		return Collections.unmodifiableList(fields);
+	}
+
+	public List<Member> getMethods() {
+		return Collections.unmodifiableList(methods);
+	}
+
+	/**
+	 * @return the abstract methods declared by this class
+	 */
+	public List<Member> getAbstractMethods() {
+		List<Member> list = new ArrayList<Member>();
+		for (Member method : methods) {
+			if ((method.getAccessFlags() & ACC_ABSTRACT) != 0) {
+				list.add(method);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * A field or method declared by a class.
+	 */
+	public static class Member {
+
+		private int accessFlags;
+
+		private String name;
+
+		private String descriptor;
+
+		Member(int accessFlags, String name, String descriptor) {
+			this.accessFlags = accessFlags;
+			this.name = name;
+			this.descriptor = descriptor;
+		}
+
+		public int getAccessFlags() {
+			return accessFlags;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getDescriptor() {
+			return descriptor;
+		}
+
+		@Override
+		public String toString() {
+			return name + descriptor;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.j2js;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.j2js.dom.MethodBinding;
+import com.j2js.ext.ExtRegistry;
+
+/**
+ * State which is shared by all classes of one compilation, but must not leak
+ * into other compilations running in the same JVM.
+ * <p>
+ * Code without access to the project (for example {@link Log#getLogger()})
+ * finds the context bound to the current thread, see
+ * {@link #enter(CompilationContext)}.
+ * </p>
+ */
+public class CompilationContext {
+
+	private static final CompilationContext DEFAULT = new CompilationContext();
+
+	private static final ThreadLocal<CompilationContext> current = new ThreadLocal<>();
+
+	private Log logger = new Log();
+
+	private ExtRegistry registry;
+
+	private Map<String, MethodBinding> methodBindings = new HashMap<>();
+
+	private Map<String, String> imports = new HashMap<>();
+
+	/**
+	 * @return the context bound to the current thread, or a default context if
+	 *         none is bound.
+	 */
+	public static CompilationContext get() {
+		CompilationContext context = current.get();
+		return context != null ? context : DEFAULT;
+	}
+
+	/**
+	 * Binds the specified context to the current thread.
+	 *
+	 * @return the previously bound context, to be passed to
+	 *         {@link #exit(CompilationContext)}
+	 */
+	public static CompilationContext enter(CompilationContext context) {
+		CompilationContext previous = current.get();
+		current.set(context);
+		return previous;
+	}
+
+	public static void exit(CompilationContext previous) {
+		if (previous == null) {
+			current.remove();
+		} else {
+			current.set(previous);
+		}
+	}
+
+	public Log getLogger() {
+		return logger;
+	}
+
+	public void setLogger(Log logger) {
+		this.logger = logger;
+	}
+
+	public synchronized ExtRegistry getRegistry() {
+		if (registry == null) {
+			registry = ExtRegistry.create();
+		}
+		return registry;
+	}
+
+	/**
+	 * Method bindings are canonical per compilation. Access must be
+	 * synchronized on the returned map.
+	 */
+	public Map<String, MethodBinding> getMethodBindings() {
+		return methodBindings;
+	}
+
+	/**
+	 * @return the replacements of imported type names, keyed by fully
+	 *         qualified class name
+	 */
+	public Map<String, String> getImports() {
+		return imports;
+	}
+}
@@ -417,6 +417,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -427,6 +428,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","null"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -437,6 +439,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -447,6 +450,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -457,6 +461,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -467,6 +472,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -477,6 +483,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -487,6 +494,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -497,6 +505,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","i"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -507,6 +516,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","l"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -517,6 +527,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","l"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -527,6 +538,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","f"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -537,6 +549,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","f"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -547,6 +560,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","f"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -557,6 +571,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","d"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -567,6 +582,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","d"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -577,6 +593,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","byte"), });
     i.setForm(f, 0);
@@ -587,6 +604,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("short","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -597,6 +615,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -607,6 +626,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -617,6 +637,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -627,6 +648,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -637,6 +659,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -647,6 +670,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -657,6 +681,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -667,6 +692,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -677,6 +703,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -687,6 +714,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -697,6 +725,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -707,6 +736,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -717,6 +747,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -727,6 +758,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -737,6 +769,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -747,6 +780,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -757,6 +791,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -767,6 +802,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -777,6 +813,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -787,6 +824,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -797,6 +835,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -807,6 +846,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -817,6 +857,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -827,6 +868,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -837,6 +879,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -847,6 +890,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -857,6 +901,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -867,6 +912,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -877,6 +923,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -887,6 +934,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -897,6 +945,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -907,6 +956,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -917,6 +967,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -927,6 +978,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -937,6 +989,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -947,6 +1000,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("short","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -957,6 +1011,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -967,6 +1022,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -977,6 +1033,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -987,6 +1044,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -997,6 +1055,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -1007,6 +1066,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1017,6 +1077,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1027,6 +1088,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1037,6 +1099,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1047,6 +1110,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1057,6 +1121,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1067,6 +1132,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1077,6 +1143,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1087,6 +1154,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("float","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1097,6 +1165,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("float","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1107,6 +1176,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("float","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1117,6 +1187,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("float","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1127,6 +1198,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1137,6 +1209,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1147,6 +1220,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1157,6 +1231,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1167,6 +1242,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1177,6 +1253,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1187,6 +1264,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1197,6 +1275,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1207,6 +1286,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1217,6 +1297,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1227,6 +1308,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1237,6 +1319,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1247,6 +1330,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1257,6 +1341,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1267,6 +1352,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1277,6 +1363,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","array"), new Form.Value("","index"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1287,6 +1374,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1297,12 +1385,14 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat2","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 1);
@@ -1313,6 +1403,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value"), new Form.Value("cat1","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1323,6 +1414,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value1"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1333,12 +1425,14 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value1"), new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat2","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0 | 1 << 1);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value1"), new Form.Value("cat2","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 1);
@@ -1349,12 +1443,14 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat2","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{new Form.Value("cat2","value"), new Form.Value("cat2","value"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 1);
@@ -1365,12 +1461,14 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat2","value1"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{new Form.Value("cat2","value1"), new Form.Value("cat1","value2"), new Form.Value("cat2","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 1);
@@ -1381,24 +1479,28 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value4"), new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), new Form.Value("cat1","value4"), new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat2","value1"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{new Form.Value("cat2","value1"), new Form.Value("cat1","value3"), new Form.Value("cat1","value2"), new Form.Value("cat2","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 1);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat2","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0 | 1 << 2);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), new Form.Value("cat2","value3"), new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 2);
   
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat2","value2"), new Form.Value("cat2","value1"), });
+    f.setInCategories(0 | 1 << 1 | 1 << 0);
     f.setOuts(new Form.Value[]{new Form.Value("cat2","value1"), new Form.Value("cat2","value2"), new Form.Value("cat2","value1"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 3);
@@ -1409,6 +1511,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("cat1","value2"), new Form.Value("cat1","value1"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("cat1","value1"), new Form.Value("cat1","value2"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1419,6 +1522,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1429,6 +1533,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1439,6 +1544,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1449,6 +1555,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value1"), new Form.Value("double","value2"), });
+    f.setInCategories(0 | 1 << 1 | 1 << 0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1459,6 +1566,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1469,6 +1577,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1479,6 +1588,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1489,6 +1599,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value1"), new Form.Value("double","value2"), });
+    f.setInCategories(0 | 1 << 1 | 1 << 0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1499,6 +1610,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1509,6 +1621,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1519,6 +1632,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1529,6 +1643,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1539,6 +1654,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1549,6 +1665,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1559,6 +1676,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1569,6 +1687,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1579,6 +1698,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1589,6 +1709,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1599,6 +1720,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1609,6 +1731,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1619,6 +1742,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1629,6 +1753,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1639,6 +1764,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1649,6 +1775,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1659,6 +1786,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1669,6 +1797,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1679,6 +1808,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1689,6 +1819,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1699,6 +1830,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1709,6 +1841,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1719,6 +1852,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1729,6 +1863,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1739,6 +1874,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1749,6 +1885,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1759,6 +1896,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1769,6 +1907,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1779,6 +1918,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), new Form.Value("int","const"), });
     i.setForm(f, 0);
@@ -1789,6 +1929,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1799,6 +1940,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1809,6 +1951,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1819,6 +1962,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1829,6 +1973,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1839,6 +1984,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1849,6 +1995,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("float","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1859,6 +2006,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1869,6 +2017,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("double","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1879,6 +2028,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1889,6 +2039,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("long","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1899,6 +2050,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("float","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1909,6 +2061,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("byte","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1919,6 +2072,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("byte","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1929,6 +2083,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("short","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1939,6 +2094,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1949,6 +2105,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1959,6 +2116,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1969,6 +2127,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1979,6 +2138,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -1989,6 +2149,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -1999,6 +2160,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2009,6 +2171,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2019,6 +2182,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2029,6 +2193,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2039,6 +2204,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2049,6 +2215,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2059,6 +2226,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2069,6 +2237,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2079,6 +2248,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2089,6 +2259,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2099,6 +2270,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2109,6 +2281,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2119,6 +2292,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value1"), new Form.Value("","value2"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2129,6 +2303,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2139,6 +2314,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("returnAddress","address"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2149,6 +2325,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","index"), });
     i.setForm(f, 0);
@@ -2159,6 +2336,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("int","index"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","padding"), new Form.Value("byte","padding"), new Form.Value("byte","padding"), new Form.Value("int","default"), new Form.Value("int","low"), new Form.Value("int","high"), });
     i.setForm(f, 0);
@@ -2169,6 +2347,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","key"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("byte","padding"), new Form.Value("byte","padding"), new Form.Value("byte","padding"), new Form.Value("int","default"), new Form.Value("int","npairs"), });
     i.setForm(f, 0);
@@ -2179,6 +2358,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2189,6 +2369,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2199,6 +2380,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2209,6 +2391,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("double","value"), });
+    f.setInCategories(0 | 1 << 0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2219,6 +2402,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2229,6 +2413,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2239,6 +2424,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2249,6 +2435,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2259,6 +2446,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("","value"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2269,6 +2457,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2279,6 +2468,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), new Form.Value("","arg1"), new Form.Value("","..."), new Form.Value("","argN"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2289,6 +2479,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), new Form.Value("","arg1"), new Form.Value("","..."), new Form.Value("","argN"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2299,6 +2490,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arg1"), new Form.Value("","..."), new Form.Value("","argN"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2309,6 +2501,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), new Form.Value("","arg1"), new Form.Value("","..."), new Form.Value("","argN"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), new Form.Value("byte","count"), new Form.Value("byte","0"), });
     i.setForm(f, 0);
@@ -2319,6 +2512,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2329,6 +2523,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2339,6 +2534,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("int","count"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","arrayref"), });
     f.setOperands(new Form.Value[]{new Form.Value("byte","atype"), });
     i.setForm(f, 0);
@@ -2349,6 +2545,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("int","count"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","arrayref"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2359,6 +2556,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","arrayref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","length"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2369,6 +2567,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2379,6 +2578,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","objectref"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2389,6 +2589,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("int","result"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), });
     i.setForm(f, 0);
@@ -2399,6 +2600,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2409,6 +2611,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","objectref"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2419,6 +2622,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{});
     i.setForm(f, 0);
@@ -2429,6 +2633,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","count1"), new Form.Value("","..."), new Form.Value("","countN"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("object","arrayref"), });
     f.setOperands(new Form.Value[]{new Form.Value("short","index"), new Form.Value("byte","dimension N"), });
     i.setForm(f, 0);
@@ -2439,6 +2644,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2449,6 +2655,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{new Form.Value("","value"), });
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("short","branch"), });
     i.setForm(f, 0);
@@ -2459,6 +2666,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{});
     f.setOperands(new Form.Value[]{new Form.Value("int","branch"), });
     i.setForm(f, 0);
@@ -2469,6 +2677,7 @@
     
     f = new Form();
     f.setIns(new Form.Value[]{});
+    f.setInCategories(0);
     f.setOuts(new Form.Value[]{new Form.Value("returnAddress","address"), });
     f.setOperands(new Form.Value[]{new Form.Value("int","branch"), });
     i.setForm(f, 0);
@@ -19,11 +19,11 @@ public class ConstGenerator {
 
     public static void main(String[] args) throws Exception {
         TransformerFactory factory = TransformerFactory.newInstance();
-        StreamSource xslSource = new StreamSource(new File("src/com/j2js/instructions.xsl"));
+        StreamSource xslSource = new StreamSource(new File("src/main/resources/instructions.xsl"));
         Transformer xltTransformer = factory.newTransformer(xslSource);
         
-        StreamSource xmlSource = new StreamSource(new File("src/com/j2js/instructions.xml"));
-        Result result = new StreamResult(new File("src/com/j2js/Const.java"));
+        StreamSource xmlSource = new StreamSource(new File("src/main/resources/instructions.xml"));
+        Result result = new StreamResult(new File("src/main/java/com/j2js/Const.java"));
         xltTransformer.transform(xmlSource, result);
     }
 }
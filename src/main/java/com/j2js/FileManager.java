@@ -5,7 +5,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -24,6 +28,13 @@ public class FileManager {
 
 	private List<Object> path = new ArrayList<Object>();
 
+	// The first class path element containing a resource, by resource name.
+	private Map<String, Object> index = new HashMap<String, Object>();
+
+	// File objects handed out so far, so that their content is read and
+	// hashed only once.
+	private ConcurrentHashMap<String, FileObject> files = new ConcurrentHashMap<String, FileObject>();
+
 	private ClassLoader classLoader;
 
 	private long compiledTime;
@@ -44,7 +55,7 @@ public class FileManager {
 		// Non-existing files are sorted out.
 		for (File file : classPath) {
 			if (!file.exists()) {
-				project.getSettings().errorCount++;
+				project.getSettings().incErrorCount();
 				Log.getLogger().error("Cannot find resource on class path: " + file.getAbsolutePath());
 				continue;
 			}
@@ -59,24 +70,83 @@ public class FileManager {
 				path.add(file);
 			}
 		}
-	}
 
-	/**
-	 * Resolves a file given by name along the class path.
-	 */
-	public FileObject getFileForInput(String relativeName) {
 		for (Object o : path) {
 			if (o instanceof JarFile) {
-				JarFile jarFile = (JarFile) o;
-				JarEntry entry = jarFile.getJarEntry(relativeName);
-				if (entry != null) {
-					return new FileObject(jarFile, entry);
+				Enumeration<JarEntry> entries = ((JarFile) o).entries();
+				while (entries.hasMoreElements()) {
+					JarEntry entry = entries.nextElement();
+					if (!entry.isDirectory() && !index.containsKey(entry.getName())) {
+						index.put(entry.getName(), o);
+					}
 				}
 			} else {
-				File file = new File(((File) o), relativeName);
-				if (file.exists()) {
-					return new FileObject(file);
-				}
+				indexDirectory((File) o, (File) o, "");
+			}
+		}
+		Log.getLogger().debug("Indexed " + index.size() + " resources on class path");
+	}
+
+	private void indexDirectory(File root, File dir, String prefix) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = prefix + file.getName();
+			if (file.isDirectory()) {
+				indexDirectory(root, file, name + "/");
+			} else if (!index.containsKey(name)) {
+				index.put(name, root);
+			}
+		}
+	}
+
+	/**
+	 * Updates the index after the specified resource was created in or
+	 * deleted from a class path directory.
+	 */
+	public void refresh(String relativeName) {
+		files.remove(relativeName);
+		index.remove(relativeName);
+		for (Object o : path) {
+			if (o instanceof JarFile ? ((JarFile) o).getJarEntry(relativeName) != null
+					: new File((File) o, relativeName).exists()) {
+				index.put(relativeName, o);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Resolves a file given by name along the class path. Resources are looked
+	 * up in an index of the class path built on construction, see
+	 * {@link #refresh(String)}.
+	 */
+	public FileObject getFileForInput(String relativeName) {
+		FileObject fileObject = files.get(relativeName);
+		if (fileObject == null) {
+			fileObject = lookup(relativeName);
+			FileObject existing = files.putIfAbsent(relativeName, fileObject);
+			if (existing != null) {
+				fileObject = existing;
+			}
+		}
+		return fileObject;
+	}
+
+	private FileObject lookup(String relativeName) {
+		Object o = index.get(relativeName);
+		if (o instanceof JarFile) {
+			JarFile jarFile = (JarFile) o;
+			JarEntry entry = jarFile.getJarEntry(relativeName);
+			if (entry != null) {
+				return new FileObject(jarFile, entry);
+			}
+		} else if (o != null) {
+			File file = new File(((File) o), relativeName);
+			if (file.exists()) {
+				return new FileObject(file);
 			}
 		}
 		if (classLoader != null) {
@@ -92,6 +162,22 @@ public class FileManager {
 		throw new RuntimeException("Could not find " + relativeName + " on class path");
 	}
 
+	/**
+	 * Returns the header of the class file of the specified class, or null if
+	 * there is no such class. Headers are kept with the file objects, so each
+	 * class file is scanned once.
+	 */
+	public ClassHeader getClassHeader(String className) {
+		if (className.startsWith("[")) {
+			return null;
+		}
+		try {
+			return getFileForInput(className.replace('.', '/') + ".class").getHeader();
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
 	public ClassLoader getClassLoader() {
 		return classLoader;
 	}
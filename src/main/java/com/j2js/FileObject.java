@@ -1,53 +1,155 @@
 package com.j2js;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
+import org.apache.commons.io.IOUtils;
+
 /**
  * File abstraction for tools. In this context, file means an abstraction of
  * regular files and other sources of data.
- * 
+ *
  * @author wolle
  */
 public class FileObject {
 
     private long lastModified;
 
-    private InputStream in;
+    private JarFile jarFile;
+
+    private JarEntry entry;
+
+    private File file;
+
+    // Content of a file object which cannot be reopened.
+    private byte[] content;
+
+    private String contentHash;
+
+    private ClassHeader header;
+
+    // Direct buffers for inflated jar entries, see getByteBuffer().
+    private static final Queue<ByteBuffer> pool = new ConcurrentLinkedQueue<ByteBuffer>();
+
+    private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private static final int MIN_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_BUFFER_SIZE = 1024 * 1024;
 
     FileObject(JarFile jarFile, JarEntry entry) {
-        try {
-            in = jarFile.getInputStream(entry);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        this.jarFile = jarFile;
+        this.entry = entry;
         lastModified = entry.getTime();
     }
 
     FileObject(File file) {
-        try {
-            in = new FileInputStream(file);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        this.file = file;
         lastModified = file.lastModified();
     }
 
     FileObject(InputStream in, long compiledTime) {
-        this.in = in;
+        try {
+            content = IOUtils.toByteArray(in);
+            in.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         this.lastModified = compiledTime;
     }
 
     /**
-     * Gets an InputStream for this file object.
+     * Opens a new InputStream for this file object. The caller must close it.
      */
     public InputStream openInputStream() throws IOException {
-        return in;
+        if (file != null) {
+            return new FileInputStream(file);
+        } else if (jarFile != null) {
+            return jarFile.getInputStream(entry);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Returns the content of this file object. Files are read into a heap
+     * buffer, jar entries are inflated into a pooled direct buffer. The caller
+     * must pass the buffer to {@link #release(ByteBuffer)} when done.
+     * <p>
+     * Files are not memory mapped: A mapping keeps a file locked on Windows,
+     * and accessing it faults if the file is truncated, as happens when a
+     * watched class file is rebuilt.
+     * </p>
+     */
+    public ByteBuffer getByteBuffer() throws IOException {
+        if (file != null) {
+            return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } else if (jarFile != null) {
+            ByteBuffer buffer = acquire(entry.getSize() < 0 ? MIN_BUFFER_SIZE : (int) entry.getSize());
+            try (ReadableByteChannel channel = Channels.newChannel(jarFile.getInputStream(entry))) {
+                while (channel.read(buffer) != -1) {
+                    if (!buffer.hasRemaining()) {
+                        // Size of entry is unknown or wrong.
+                        ByteBuffer larger = acquire(2 * buffer.capacity());
+                        buffer.flip();
+                        larger.put(buffer);
+                        release(buffer);
+                        buffer = larger;
+                    }
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+        return ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+
+    /**
+     * Releases a buffer returned by {@link #getByteBuffer()}.
+     */
+    public void release(ByteBuffer buffer) {
+        if (jarFile != null && buffer.capacity() <= MAX_BUFFER_SIZE && pool.size() < POOL_SIZE) {
+            pool.offer(buffer);
+        }
+    }
+
+    private static ByteBuffer acquire(int size) {
+        // Always leave room to detect the end of the entry without growing.
+        size = Math.max(size + 1, MIN_BUFFER_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            ByteBuffer buffer = pool.poll();
+            if (buffer == null) {
+                break;
+            }
+            if (buffer.capacity() >= size) {
+                buffer.clear();
+                return buffer;
+            }
+            // Too small, replace by a larger buffer.
+        }
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * Returns the header of the class file, see {@link ClassHeader}.
+     */
+    public synchronized ClassHeader getHeader() {
+        if (header == null) {
+            read();
+        }
+        return header;
     }
 
     /**
@@ -57,4 +159,70 @@ public class FileObject {
         return lastModified;
     }
 
+    /**
+     * Returns a hex encoded SHA-1 digest of the content of this file object.
+     * Other than the modification time, the digest does not change if a file
+     * is rebuilt with the same content. For a jar entry, the CRC and size
+     * recorded in the jar are used instead, so the entry is not inflated.
+     */
+    public synchronized String getContentHash() {
+        if (contentHash == null) {
+            if (hasEntryChecksum()) {
+                contentHash = Long.toHexString(entry.getCrc()) + ":" + entry.getSize();
+            } else {
+                read();
+            }
+        }
+        return contentHash;
+    }
+
+    /**
+     * Returns true if {@link #getContentHash()} does not need to read the
+     * content.
+     */
+    public synchronized boolean hasContentHash() {
+        return contentHash != null || hasEntryChecksum();
+    }
+
+    private boolean hasEntryChecksum() {
+        return jarFile != null && entry.getCrc() != -1 && entry.getSize() != -1;
+    }
+
+    /**
+     * Computes the content hash and the header from the specified content of
+     * this file object, unless already known. Callers which need the content
+     * anyway pass it here, so that it is only read once.
+     */
+    public synchronized void scan(ByteBuffer buffer) {
+        if (!hasContentHash()) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-1");
+                digest.update(buffer.duplicate());
+                StringBuilder sb = new StringBuilder();
+                for (byte b : digest.digest()) {
+                    sb.append(String.format("%02x", b));
+                }
+                contentHash = sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        if (header == null) {
+            header = ClassHeader.scan(buffer);
+        }
+    }
+
+    private void read() {
+        try {
+            ByteBuffer buffer = getByteBuffer();
+            try {
+                scan(buffer);
+            } finally {
+                release(buffer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
@@ -28,6 +28,7 @@ public class Form {
     private Form.Value[] ins;
     private Form.Value[] outs;
     private Form.Value[] operands;
+    private int inCategories;
     private Type type;
     
     /**
@@ -44,6 +45,21 @@ public class Form {
         ins = theIns;
     }
 
+    /**
+     * @return Bit i is set if the i-th value from the top of the operand stack
+     * which this form consumes is of category 2.
+     */
+    public int getInCategories() {
+        return inCategories;
+    }
+
+    /**
+     * @param theInCategories The categories of the ins, see #getInCategories().
+     */
+    public void setInCategories(int theInCategories) {
+        inCategories = theInCategories;
+    }
+
     /**
      * @return Returns the operands.
      */
@@ -8,6 +8,7 @@ public class InstructionType {
     private short code;
     private String name;
     private Form[] forms;
+    private int maxInCount;
     
     public InstructionType(short theCode, String theName, int formCount) {
         code = theCode;
@@ -22,6 +23,14 @@ public class InstructionType {
     public void setForm(Form form, int index) {
         forms[index] = form;
         form.setIndex(index);
+        maxInCount = Math.max(maxInCount, form.getIns().length);
+    }
+    
+    /**
+     * @return The largest number of values consumed by any form.
+     */
+    public int getMaxInCount() {
+        return maxInCount;
     }
     
     public Form getForm(int index) {
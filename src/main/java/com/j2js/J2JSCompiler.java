@@ -64,6 +64,11 @@ public class J2JSCompiler {
 
 	private Log logger;
 
+	private CompilationContext context = new CompilationContext();
+
+	// Shared by all assemblies of one execution.
+	private Project project;
+
 	// Begin main
 	public static void main(String argv[]) throws Exception {
 		if (argv == null || argv.length != 4) {
@@ -109,9 +114,18 @@ public class J2JSCompiler {
 		}
 
 		Project.clearSingleton();
+		project = null;
 
-		for (Assembly assembly : assemblies) {
-			execute(assembly);
+		CompilationContext previous = CompilationContext.enter(context);
+		try {
+			for (Assembly assembly : assemblies) {
+				execute(assembly);
+			}
+			if (getCacheFile() != null) {
+				Project.write(this);
+			}
+		} finally {
+			CompilationContext.exit(previous);
 		}
 	}
 
@@ -130,10 +144,6 @@ public class J2JSCompiler {
 			throw new RuntimeException("Field assembly.entryPointClassName must be set");
 		}
 
-		if (cacheFile == null && needCache) {
-			setCacheFile(new File(basedir, "target/j2js.cache"));
-		}
-
 		// if (assembly.getTargetLocation() == null) {
 		// throw new RuntimeException("Field assembly.targetLocation must be
 		// set");
@@ -144,12 +154,9 @@ public class J2JSCompiler {
 
 		logger.info("Creating assembly " + assembly.getTargetLocation());
 
-		Project project = Project.createSingleton(getCacheFile());
-		fileManager = new FileManager(project, classpath, classLoader);
-		generator = createGenerator(project);
-		project.generator = generator;
-		project.fileManager = fileManager;
+		Project project = getProject();
 		project.getSettings().errorCount = 0;
+		int compileCount = project.getSettings().compileCount;
 
 		assembly.addEntryPoint(assembly.getEntryPointClassName() + "#main(java.lang.String[])void");
 
@@ -173,20 +180,17 @@ public class J2JSCompiler {
 		} else {
 			assembly.processTainted(project);
 		}
+		assembly.untaintUnreferenced(project);
 
 		int methodCount;
 		try {
 			methodCount = assembly.createAssembly(project);
-
-			if (getCacheFile() != null) {
-				Project.write(this);
-			}
 		} catch (IOException e) {
 			throw new Exception("Error while creating assembly", e);
 		}
 
-		logger.info(timesName("Compiled|Compiled", project.getSettings().compileCount, "class|classes") + ", "
-				+ timesName("packed|packed", methodCount, "method|methods") + ".");
+		logger.info(timesName("Compiled|Compiled", project.getSettings().compileCount - compileCount, "class|classes")
+				+ ", " + timesName("packed|packed", methodCount, "method|methods") + ".");
 		logger.info("Execution time was " + (System.currentTimeMillis() - startTime) + " millis.");
 
 		if (project.getSettings().errorCount > 0) {
@@ -194,6 +198,27 @@ public class J2JSCompiler {
 		}
 	}
 
+	/**
+	 * Returns the project of the current execution. It is created for the
+	 * first assembly and then shared, so that a class is parsed and generated
+	 * only once no matter how many assemblies reference it. Each assembly only
+	 * runs its own taint analysis and packing.
+	 */
+	private Project getProject() {
+		if (project == null) {
+			if (cacheFile == null && needCache) {
+				setCacheFile(new File(basedir, "target/j2js.cache"));
+			}
+			project = Project.createSingleton(getCacheFile());
+			project.setContext(context);
+			fileManager = new FileManager(project, classpath, classLoader);
+			generator = createGenerator(project);
+			project.generator = generator;
+			project.fileManager = fileManager;
+		}
+		return project;
+	}
+
 	protected Generator createGenerator(Project project) {
 		return new JavaScriptGenerator(project);
 	}
@@ -323,7 +348,7 @@ public class J2JSCompiler {
 	 */
 	public void setLogger(Log logger) {
 		this.logger = logger;
-		Log.logger = logger;
+		context.setLogger(logger);
 	}
 
 	public void setBasedir(File basedir) {
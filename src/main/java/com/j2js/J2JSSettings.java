@@ -21,6 +21,25 @@ public class J2JSSettings {
 
 	public int errorCount;
 
+	/**
+	 * Number of threads used to parse class files ahead of code generation. A
+	 * value of 1 parses every class on the calling thread.
+	 */
+	public int workerCount = 1;
+
+	/**
+	 * Maximum total length in bytes of the class files whose parsed form is
+	 * kept in the class cache of a project.
+	 */
+	public long classCacheSize = 64L * 1024 * 1024;
+
+	/**
+	 * If set and workerCount is greater than 1, the classes referenced from
+	 * the constant pool of each parsed class are speculatively loaded into the
+	 * class cache, before the compiler asks for them.
+	 */
+	public boolean prefetchReferences = false;
+
 	public boolean singleFile = false;
 
 	private File basedir;
@@ -57,6 +76,14 @@ public class J2JSSettings {
 		return basedir;
 	}
 
+	public synchronized void incErrorCount() {
+		errorCount++;
+	}
+
+	public synchronized void incCompileCount() {
+		compileCount++;
+	}
+
 	public String getSingleEntryPoint() {
 		return null;
 	}
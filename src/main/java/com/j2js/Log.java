@@ -10,10 +10,11 @@ package com.j2js;
  */
 public class Log {
 	
-    public static Log logger;
-    
+    /**
+     * @return the logger of the compilation bound to the current thread
+     */
     public static Log getLogger() {
-        return logger;
+        return CompilationContext.get().getLogger();
     }
     
     private int state = INFO;
@@ -1,7 +1,9 @@
 package com.j2js;
 
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +30,8 @@ import com.j2js.dom.ThrowStatement;
 import com.j2js.dom.TypeDeclaration;
 import com.j2js.dom.VariableDeclaration;
 import com.j2js.ext.Tuple;
+import com.j2js.ts.MethodCache;
+import com.j2js.util.ByteBufferInputStream;
 
 /**
  * @author wolfgang
@@ -51,14 +55,51 @@ public class Parser {
 	public Parser(Project project, ClassUnit theFileUnit) {
 		this.project = project;
 		fileUnit = theFileUnit;
+		jc = load(project, fileUnit.getName(), fileUnit.getClassFile());
+	}
+
+	/**
+	 * Returns the parsed class file, taken from the class cache of the project
+	 * if possible.
+	 */
+	public static JavaClass load(Project project, String className, FileObject classFile) {
+		ClassCache cache = project.getClassCache();
 		try {
-			ClassParser cp = new ClassParser(fileUnit.getClassFile().openInputStream(), fileUnit.getName());
-			jc = cp.parse();
+			// Read the content at most once, for the hash and the parser.
+			ByteBuffer bytes = null;
+			if (!classFile.hasContentHash()) {
+				bytes = classFile.getByteBuffer();
+				classFile.scan(bytes);
+			}
+			try {
+				String contentHash = classFile.getContentHash();
+				JavaClass jc = cache.get(className, contentHash);
+				if (jc != null) {
+					return jc;
+				}
+				if (bytes == null) {
+					bytes = classFile.getByteBuffer();
+				}
+				int length = bytes.remaining();
+				// ClassParser does not buffer a DataInputStream again.
+				ClassParser cp = new ClassParser(new DataInputStream(new ByteBufferInputStream(bytes)), className);
+				jc = cp.parse();
+				cache.put(className, contentHash, jc, length);
+				return jc;
+			} finally {
+				if (bytes != null) {
+					classFile.release(bytes);
+				}
+			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	public JavaClass getJavaClass() {
+		return jc;
+	}
+
 	public TypeDeclaration parse() {
 
 		// Attribute[] attributes = jc.getAttributes();
@@ -71,25 +112,29 @@ public class Parser {
 		ObjectType type = new ObjectType(jc.getClassName());
 		TypeDeclaration typeDecl = new TypeDeclaration(type, jc.getAccessFlags(), jc.isEnum());
 		typeDecl.setAnnotations(jc.getAnnotationEntries());
-		fileUnit.isInterface = Modifier.isInterface(typeDecl.getAccess());
-
-		if (!type.getClassName().equals("java.lang.Object")) {
-			// For an interface, the super class is always java.lang.Object, see
-			// 4.1 VM Spec.
-			// TODO Interface: Why cant we ignore it?
-			// if (!Modifier.isInterface(typeDecl.getAccess())) {
-			ObjectType superType = new ObjectType(jc.getSuperclassName());
-			typeDecl.setSuperType(superType);
-			ClassUnit superUnit = project.getOrCreateClassUnit(superType.getClassName());
-			fileUnit.setSuperUnit(superUnit);
-			// }
-
-			// TODO: This should be executed also for java.lang.Object.
-			String[] interfaceNames = jc.getInterfaceNames();
-			for (int i = 0; i < interfaceNames.length; i++) {
-				ObjectType interfaceType = new ObjectType(interfaceNames[i]);
-				ClassUnit interfaceUnit = project.getOrCreateClassUnit(interfaceType.getClassName());
-				fileUnit.addInterface(interfaceUnit);
+		// Classes may be parsed concurrently (see J2JSSettings.workerCount), so
+		// the unit hierarchy is only modified while holding the project lock.
+		synchronized (project) {
+			fileUnit.isInterface = Modifier.isInterface(typeDecl.getAccess());
+
+			if (!type.getClassName().equals("java.lang.Object")) {
+				// For an interface, the super class is always java.lang.Object, see
+				// 4.1 VM Spec.
+				// TODO Interface: Why cant we ignore it?
+				// if (!Modifier.isInterface(typeDecl.getAccess())) {
+				ObjectType superType = new ObjectType(jc.getSuperclassName());
+				typeDecl.setSuperType(superType);
+				ClassUnit superUnit = project.getOrCreateClassUnit(superType.getClassName());
+				fileUnit.setSuperUnit(superUnit);
+				// }
+
+				// TODO: This should be executed also for java.lang.Object.
+				String[] interfaceNames = jc.getInterfaceNames();
+				for (int i = 0; i < interfaceNames.length; i++) {
+					ObjectType interfaceType = new ObjectType(interfaceNames[i]);
+					ClassUnit interfaceUnit = project.getOrCreateClassUnit(interfaceType.getClassName());
+					fileUnit.addInterface(interfaceUnit);
+				}
 			}
 		}
 
@@ -115,7 +160,7 @@ public class Parser {
 			// essential!
 			// if (Modifier.isVolatile(method.getAccessFlags())) continue;
 
-			MethodBinding binding = MethodBinding.lookup(jc.getClassName(), method.getName(), method.getSignature());
+			MethodBinding binding = MethodBinding.lookup(project, jc.getClassName(), method.getName(), method.getSignature());
 
 			if (project.getSettings().getSingleEntryPoint() != null) {
 				Signature signature = project.getSignature(binding.toString());
@@ -162,6 +207,21 @@ public class Parser {
 		if (methodDecl.getCode() == null)
 			return;
 
+		MethodCache cache = project.methodCache;
+		if (cache != null) {
+			methodDecl.setCacheKey(cache.getKey(project, jc, method));
+		}
+		if (project.getSettings().failOnError) {
+			// Report decompilation errors while parsing.
+			parseBody(typeDecl, methodDecl, method);
+			return;
+		}
+		// The body is only decompiled if it is generated and the cached code
+		// cannot be used.
+		methodDecl.setDeferredBody(() -> parseBody(typeDecl, methodDecl, method));
+	}
+
+	private void parseBody(TypeDeclaration typeDecl, MethodDeclaration methodDecl, Method method) {
 		Log.getLogger().debug("Parsing " + methodDecl.toString());
 		Pass1 pass1 = new Pass1(project, jc);
 
@@ -172,23 +232,23 @@ public class Parser {
 			if (ex instanceof ParseException) {
 				node = ((ParseException) ex).getAstNode();
 			} else {
-				node = Pass1.getCurrentNode();
+				node = pass1.getCurrentNode();
 			}
 
 			if (project.getSettings().failOnError) {
-				project.getSettings().errorCount++;
+				project.getSettings().incErrorCount();
 				throw Utils.generateException(ex, methodDecl, node);
 			} else {
 				String msg = Utils.generateExceptionMessage(methodDecl, node);
-				project.getSettings().errorCount++;
+				project.getSettings().incErrorCount();
 				Log.getLogger().error(msg + "\n" + Utils.stackTraceToString(ex));
 			}
 
 			Block body = new Block();
 			ThrowStatement throwStmt = new ThrowStatement();
-			MethodBinding binding = MethodBinding.lookup("java.lang.RuntimeException", "<init>",
-					"(java/lang/String)V;");
-			ClassInstanceCreation cic = new ClassInstanceCreation(methodDecl);
+			MethodBinding binding = MethodBinding.lookup(project, "java.lang.RuntimeException", "<init>",
+					"(Ljava/lang/String;)V");
+			ClassInstanceCreation cic = new ClassInstanceCreation(methodDecl, new ObjectType("java.lang.RuntimeException"));
 			cic.setMethodBinding(project, binding);
 			cic.addArgument(new StringLiteral("Unresolved decompilation problem"));
 			throwStmt.setExpression(cic);
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -37,11 +38,18 @@ import org.apache.bcel.classfile.ConstantUtf8;
 import org.apache.bcel.classfile.JavaClass;
 import org.apache.bcel.classfile.Method;
 import org.apache.bcel.classfile.Utility;
+import org.apache.bcel.generic.ATHROW;
 import org.apache.bcel.generic.BasicType;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.IfInstruction;
+import org.apache.bcel.generic.Instruction;
 import org.apache.bcel.generic.InstructionHandle;
 import org.apache.bcel.generic.InstructionList;
 import org.apache.bcel.generic.InstructionTargeter;
+import org.apache.bcel.generic.JsrInstruction;
 import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.Select;
 import org.apache.bcel.generic.Type;
 import org.apache.bcel.util.ByteSequence;
 
@@ -99,7 +107,7 @@ public class Pass1 {
 	private BootstrapMethods bootstrapMethods;
 	private ByteSequence bytes;
 
-	private static ASTNode currentNode;
+	private ASTNode currentNode;
 
 	private ASTNodeStack stack;
 
@@ -114,10 +122,13 @@ public class Pass1 {
 
 	private ControlFlowGraph graph;
 
+	// First pc of each basic block of the current method.
+	private BitSet leaders;
+
 	// Not used anymore.
 	private int depth;
 
-	private static Log logger = Log.getLogger();
+	private Log logger = Log.getLogger();
 
 	/*
 	 * The `WIDE' instruction is used in the byte code to allow 16-bit wide
@@ -132,7 +143,7 @@ public class Pass1 {
 	private TypeDeclaration typeDecl;
 	private Project project;
 
-	public static ASTNode getCurrentNode() {
+	public ASTNode getCurrentNode() {
 		return currentNode;
 	}
 
@@ -307,12 +318,12 @@ public class Pass1 {
 			dumpCode();
 		}
 
-		Block.TAG = 0;
-
 		compileCodeException();
 
 		bytes = new ByteSequence(code.getCode());
 
+		leaders = findLeaders();
+
 		graph.createNode(0);
 
 		makeTryFrames();
@@ -323,7 +334,7 @@ public class Pass1 {
 			Optimizer optimizer = new Optimizer(methodDecl, tempDecls);
 			optimizer.optimize();
 		} catch (Error e) {
-			project.getSettings().errorCount++;
+			project.getSettings().incErrorCount();
 			if (logger.isDebugEnabled()) {
 				logger.debug("In Expression Optimizer:\n" + e + "\n" + Utils.stackTraceToString(e));
 			} else {
@@ -335,7 +346,7 @@ public class Pass1 {
 		if (project.getSettings().reductionLevel == 0) {
 			block = graph.reduceDumb();
 		} else {
-			block = graph.reduce();
+			block = graph.reduce(methodDecl);
 		}
 
 		methodDecl.setBody(block);
@@ -378,43 +389,77 @@ public class Pass1 {
 	}
 
 	/**
-	 * Selects a single node as currently active node.
+	 * Finds the first instruction of each basic block: The targets of jumps,
+	 * branches and switches, the handlers of exceptions and the instructions
+	 * following jumps, branches, switches, returns and throws. Targets of
+	 * subroutine calls are not included, see JumpSubRoutine, and neither are
+	 * the targets of branches to the next instruction, which are ignored.
 	 */
-	private void selectActiveNode(int pc) {
-		// Find all nodes currently active at pc.
-		List<Node> activeNodes = new ArrayList<Node>();
-		for (Node node : graph.getNodes()) {
-			if (node.getCurrentPc() == pc) {
-				activeNodes.add(node);
+	private BitSet findLeaders() {
+		BitSet leaders = new BitSet(code.getCode().length);
+		leaders.set(0);
+		for (CodeException ce : code.getExceptionTable()) {
+			leaders.set(ce.getHandlerPC());
+		}
+		InstructionList il = new InstructionList(code.getCode());
+		for (InstructionHandle handle : il.getInstructionHandles()) {
+			Instruction ins = handle.getInstruction();
+			InstructionHandle next = handle.getNext();
+			boolean endsBlock = ins instanceof ReturnInstruction || ins instanceof ATHROW;
+			if (ins instanceof Select) {
+				Select select = (Select) ins;
+				for (InstructionHandle target : select.getTargets()) {
+					leaders.set(target.getPosition());
+				}
+				leaders.set(select.getTarget().getPosition());
+				endsBlock = true;
+			} else if (ins instanceof BranchInstruction && !(ins instanceof JsrInstruction)) {
+				InstructionHandle target = ((BranchInstruction) ins).getTarget();
+				if (!(ins instanceof IfInstruction) || target != next) {
+					leaders.set(target.getPosition());
+					endsBlock = true;
+				}
+			}
+			if (endsBlock && next != null) {
+				leaders.set(next.getPosition());
 			}
 		}
+		return leaders;
+	}
 
-		if (activeNodes.size() == 0) {
-			// No active node: Create one.
-			Node node = graph.createNode(pc);
-			setCurrentNode(node);
-			return;
+	/**
+	 * Selects a single node as currently active node. Besides the current
+	 * node, only a node starting at pc can be active.
+	 */
+	private void selectActiveNode(int pc) {
+		Node node = graph.getNode(pc);
+		if (node != null && node.getCurrentPc() != pc) {
+			node = null;
 		}
 
-		if (activeNodes.size() == 1) {
-			// Return single active node.
-			Node node = activeNodes.get(0);
+		if (node == null && cNode != null && leaders.get(pc)) {
+			// A block starts at pc, for example the target of a backward
+			// jump. Starting its node now saves splitting the current node
+			// when the jump is reached.
+			node = graph.createNode(pc);
+		}
+
+		if (node == null) {
+			if (cNode == null) {
+				// No active node: Create one.
+				node = graph.createNode(pc);
+			} else {
+				node = cNode;
+			}
 			setCurrentNode(node);
 			return;
 		}
 
-		// Multiple nodes. Select the one starting at pc.
-
-		Node node = graph.getNode(pc);
-		if (node == null)
-			throw new RuntimeException("No node found at " + pc);
-
+		// Add an edge from the current node to the node starting at pc.
+		Node current = cNode;
 		setCurrentNode(node);
-
-		// Add edges from all other active nodes to the selected node.
-		activeNodes.remove(node);
-		for (Node n : activeNodes) {
-			graph.addEdge(n, node);
+		if (current != null && current != node) {
+			graph.addEdge(current, node);
 		}
 	}
 
@@ -661,6 +706,7 @@ public class Pass1 {
 	}
 
 	public static void dump(ASTNode node, String msg) {
+		Log logger = Log.getLogger();
 		if (!logger.isDebugEnabled())
 			return;
 
@@ -679,6 +725,7 @@ public class Pass1 {
 	}
 
 	static void dump(List list, String msg) {
+		Log logger = Log.getLogger();
 		if (!logger.isDebugEnabled())
 			return;
 
@@ -718,14 +765,20 @@ public class Pass1 {
 		if (instructionType.getFormCount() == 1) {
 			return instructionType.getForm(0);
 		}
-		FormLoop: for (int i = 0; i < instructionType.getFormCount(); i++) {
+		// Categories of the topmost stack values, see Form.getInCategories().
+		int available = Math.min(instructionType.getMaxInCount(), stack.size());
+		int categories = 0;
+		for (int j = 0; j < available; j++) {
+			if (stack.peek(j).getCategory() == Form.CATEGORY2) {
+				categories |= 1 << j;
+			}
+		}
+		for (int i = 0; i < instructionType.getFormCount(); i++) {
 			Form form = instructionType.getForm(i);
-			for (int j = 0; j < form.getIns().length; j++) {
-				Form.Value in = form.getIns()[form.getIns().length - 1 - j];
-				if (stack.peek(j).getCategory() != in.getCategory())
-					continue FormLoop;
+			int count = form.getIns().length;
+			if (count <= available && (categories & ((1 << count) - 1)) == form.getInCategories()) {
+				return form;
 			}
-			return form;
 		}
 		throw new RuntimeException("Could not determine correct form for " + instructionType);
 	}
@@ -2203,7 +2256,7 @@ public class Pass1 {
 			// Format: invokestatic, index(short)
 			// Operand stack: ..., arg1(), ...(), argN() -> ...
 			int index = bytes.readUnsignedShort();
-			MethodBinding methodBinding = MethodBinding.lookup(index, constantPool);
+			MethodBinding methodBinding = MethodBinding.lookup(project, index, constantPool);
 			MethodInvocation invocation = new MethodInvocation(methodDecl);
 			invocation.setMethodBinding(project, methodBinding);
 			// Processor.getLogger().finer(method.getName() + "->" +
@@ -2299,7 +2352,7 @@ public class Pass1 {
 				.getBootstrapMethodAttrIndex()];
 		ConstantMethodHandle mh = (ConstantMethodHandle) constantPool
 				.getConstant(bootstrapMethod.getBootstrapMethodRef());
-		MethodBinding methodBinding = MethodBinding.lookup(mh.getReferenceIndex(), constantPool);
+		MethodBinding methodBinding = MethodBinding.lookup(project, mh.getReferenceIndex(), constantPool);
 		List<Expression> callargs2 = new ArrayList<>();
 		DynamicInvokeType lookup = DynamicInvokeType.lookup(methodBinding.getName());
 		switch (lookup) {
@@ -2339,7 +2392,7 @@ public class Pass1 {
 		ConstantMethodHandle staticMethod = (ConstantMethodHandle) constantPool
 				.getConstant(bootstrapMethod.getBootstrapArguments()[1]);
 		int referenceKind = staticMethod.getReferenceKind();// prototype
-		methodBinding = MethodBinding.lookup(staticMethod.getReferenceIndex(), constantPool);
+		methodBinding = MethodBinding.lookup(project, staticMethod.getReferenceIndex(), constantPool);
 		MethodInvocation inv = new MethodInvocation(methodDecl);
 		inv.setMethodBinding(project, methodBinding);
 		ConstantNameAndType nameAndType = (ConstantNameAndType) constantPool
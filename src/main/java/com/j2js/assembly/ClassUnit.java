@@ -26,6 +26,9 @@ public class ClassUnit extends Unit {
 	// Time stamp at which unit was last compiled.
 	private long lastCompiled;
 
+	// Content hash of the class file at the time the unit was last compiled.
+	private String contentHash;
+
 	/**
 	 * Returns the time stamp at which the class file was last modified.
 	 */
@@ -33,7 +36,9 @@ public class ClassUnit extends Unit {
 		return getClassFile().getLastModified();
 	}
 
-	// All members declared by this class, mapped by relative signature.
+	// All members declared by this class, mapped by relative signature. Members
+	// are added by parse workers while holding the project lock, so all access
+	// is guarded by it.
 	private Map<String, MemberUnit> declaredMembers;
 
 	// The super class.
@@ -87,16 +92,50 @@ public class ClassUnit extends Unit {
 	void clear() {
 		// Do not remove registered subunits!
 		lastCompiled = -1;
+		contentHash = null;
 		removeInterfaces();
 		setSuperUnit(null);
-		declaredMembers.clear();
+		synchronized (project) {
+			for (MemberUnit member : declaredMembers.values()) {
+				if (member instanceof ProcedureUnit) {
+					((ProcedureUnit) member).removeTargets();
+				}
+			}
+			declaredMembers.clear();
+		}
+	}
+
+	/**
+	 * Discards the parsed type and all fields filled by compilation, so that
+	 * the unit is compiled again from a changed class file.
+	 */
+	public void invalidate() {
+		clear();
+		typeDecl = null;
+		classFile = null;
+	}
+
+	/**
+	 * Marks this unit and its members as not resolved, so that they are
+	 * visited again by the next compilation of the same project.
+	 */
+	public void unresolve() {
+		if (this != project.getJavaLangObject()) {
+			setResolved(false);
+		}
+		synchronized (project) {
+			for (MemberUnit member : declaredMembers.values()) {
+				member.setResolved(false);
+			}
+		}
 	}
 
 	/**
-	 * Returns true if this unit is up to date.
+	 * Returns true if this unit was compiled from a class file with the same
+	 * content as the current one.
 	 */
 	public boolean isUpToDate() {
-		return lastCompiled >= getLastModified();
+		return contentHash != null && contentHash.equals(getClassFile().getContentHash());
 	}
 
 	public Collection<ClassUnit> getInterfaces() {
@@ -106,6 +145,7 @@ public class ClassUnit extends Unit {
 	public void addInterface(ClassUnit interfaceUnit) {
 		interfaces.add(interfaceUnit);
 		// interfaceUnit.addSubUnit(this);
+		project.getDependencyIndex().addSubtype(interfaceUnit, this);
 	}
 
 	private void removeInterfaces() {
@@ -113,6 +153,7 @@ public class ClassUnit extends Unit {
 		while (iter.hasNext()) {
 			ClassUnit interfaceUnit = (ClassUnit) iter.next();
 			interfaceUnit.removeSubUnit(this);
+			project.getDependencyIndex().removeSubtype(interfaceUnit, this);
 			iter.remove();
 		}
 	}
@@ -139,7 +180,9 @@ public class ClassUnit extends Unit {
 	public MemberUnit getDeclaredMember(String signature) {
 		if (signature == null)
 			throw new NullPointerException();
-		return declaredMembers.get(signature);
+		synchronized (project) {
+			return declaredMembers.get(signature);
+		}
 	}
 
 	/**
@@ -184,14 +227,22 @@ public class ClassUnit extends Unit {
 		return list;
 	}
 
+	/**
+	 * Returns a snapshot of the declared members, which may be iterated while
+	 * workers add members.
+	 */
 	public Collection<MemberUnit> getDeclaredMembers() {
 		if (!isResolved())
 			throw new RuntimeException("Class is not yet resolved: " + getName());
-		return declaredMembers.values();
+		synchronized (project) {
+			return new ArrayList<MemberUnit>(declaredMembers.values());
+		}
 	}
 
 	public void addMemberUnit(MemberUnit unit) {
-		declaredMembers.put(unit.getSignature().toString(), unit);
+		synchronized (project) {
+			declaredMembers.put(unit.getSignature().toString(), unit);
+		}
 	}
 
 	public ClassUnit getSuperUnit() {
@@ -201,10 +252,12 @@ public class ClassUnit extends Unit {
 	public void setSuperUnit(ClassUnit theSuperUnit) {
 		if (superUnit != null) {
 			superUnit.removeSubUnit(this);
+			project.getDependencyIndex().removeSubtype(superUnit, this);
 		}
 		superUnit = theSuperUnit;
 		if (superUnit != null) {
 			superUnit.addSubUnit(this);
+			project.getDependencyIndex().addSubtype(superUnit, this);
 		}
 	}
 
@@ -258,8 +311,12 @@ public class ClassUnit extends Unit {
 		super.setSignature(theSignature);
 	}
 
-	public FileObject getClassFile() {
+	public synchronized FileObject getClassFile() {
 		if (classFile == null) {
+			if (fileManager == null) {
+				// Unit was read from the project cache.
+				fileManager = project.fileManager;
+			}
 			classFile = fileManager.getFileForInput(getSignature().toString().replaceAll("\\.", "/") + ".class");
 		}
 		return classFile;
@@ -267,6 +324,11 @@ public class ClassUnit extends Unit {
 
 	public void setLastCompiled(long theLastCompiled) {
 		lastCompiled = theLastCompiled;
+		contentHash = getClassFile().getContentHash();
+	}
+
+	public String getContentHash() {
+		return contentHash;
 	}
 
 	public void setSuperTainted() {
@@ -0,0 +1,125 @@
+package com.j2js.assembly;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse dependencies between the units of a project, i.e. which procedures
+ * reference a member or class, and which classes extend or implement a class.
+ * The index is maintained while classes are compiled.
+ */
+public class DependencyIndex implements Serializable {
+
+	static final long serialVersionUID = 1;
+
+	// Referencing procedures by absolute member signature.
+	private Map<Signature, Set<ProcedureUnit>> referrers = new HashMap<>();
+
+	// Referencing procedures by class name of the referenced member.
+	private Map<String, Set<ProcedureUnit>> referrersByClass = new HashMap<>();
+
+	// Direct sub classes and implementing classes by class name.
+	private Map<String, Set<ClassUnit>> subtypes = new HashMap<>();
+
+	synchronized void addReference(ProcedureUnit source, Signature target) {
+		add(referrers, target, source);
+		add(referrersByClass, target.className(), source);
+	}
+
+	synchronized void removeReference(ProcedureUnit source, Signature target) {
+		remove(referrers, target, source);
+		remove(referrersByClass, target.className(), source);
+	}
+
+	synchronized void addSubtype(ClassUnit supertype, ClassUnit subtype) {
+		add(subtypes, supertype.getName(), subtype);
+	}
+
+	synchronized void removeSubtype(ClassUnit supertype, ClassUnit subtype) {
+		remove(subtypes, supertype.getName(), subtype);
+	}
+
+	/**
+	 * Returns all procedures which reference the member with the specified
+	 * absolute signature.
+	 */
+	public synchronized Set<ProcedureUnit> getReferrers(Signature target) {
+		return copy(referrers.get(target));
+	}
+
+	/**
+	 * Returns all procedures which reference any member of the specified
+	 * class.
+	 */
+	public synchronized Set<ProcedureUnit> getReferrers(String className) {
+		return copy(referrersByClass.get(className));
+	}
+
+	/**
+	 * Returns the classes which directly extend or implement the specified
+	 * class.
+	 */
+	public synchronized Set<ClassUnit> getSubtypes(String className) {
+		return copy(subtypes.get(className));
+	}
+
+	/**
+	 * Returns the classes whose compilation depends on the specified class:
+	 * the class itself, all classes declaring a procedure which references one
+	 * of its members, and all direct or indirect subtypes.
+	 */
+	public synchronized Set<ClassUnit> getDependents(ClassUnit clazz) {
+		Set<ClassUnit> dependents = new HashSet<>();
+		dependents.add(clazz);
+		Set<ProcedureUnit> procedures = referrersByClass.get(clazz.getName());
+		if (procedures != null) {
+			for (ProcedureUnit procedure : procedures) {
+				dependents.add(procedure.getDeclaringClass());
+			}
+		}
+		collectSubtypes(clazz, dependents);
+		return dependents;
+	}
+
+	private void collectSubtypes(ClassUnit clazz, Set<ClassUnit> units) {
+		Set<ClassUnit> direct = subtypes.get(clazz.getName());
+		if (direct == null) {
+			return;
+		}
+		for (ClassUnit subtype : direct) {
+			if (units.add(subtype)) {
+				collectSubtypes(subtype, units);
+			}
+		}
+	}
+
+	private static <K, V> void add(Map<K, Set<V>> map, K key, V value) {
+		Set<V> set = map.get(key);
+		if (set == null) {
+			set = new HashSet<>();
+			map.put(key, set);
+		}
+		set.add(value);
+	}
+
+	private static <K, V> void remove(Map<K, Set<V>> map, K key, V value) {
+		Set<V> set = map.get(key);
+		if (set != null) {
+			set.remove(value);
+			if (set.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	private static <V> Set<V> copy(Set<V> set) {
+		if (set == null) {
+			return Collections.emptySet();
+		}
+		return new HashSet<>(set);
+	}
+}
@@ -22,13 +22,16 @@ public abstract class ProcedureUnit extends MemberUnit {
             throw new IllegalArgumentException("Signature must be field or method: " + targetSignature);
         }
         //Logger.getLogger().info("Adding " + this + " -> " + targetSignature);
-        targetSignatures.add(targetSignature);
+        if (targetSignatures.add(targetSignature)) {
+            declaringClass.getProject().getDependencyIndex().addReference(this, targetSignature);
+        }
     }
     
     public void removeTargets() {
-      Iterator iter = targetSignatures.iterator();
+      DependencyIndex index = declaringClass.getProject().getDependencyIndex();
+      Iterator<Signature> iter = targetSignatures.iterator();
       while (iter.hasNext()) {
-          iter.next();
+          index.removeReference(this, iter.next());
           iter.remove();
       }
     }
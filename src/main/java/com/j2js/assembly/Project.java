@@ -1,9 +1,15 @@
 package com.j2js.assembly;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,16 +23,22 @@ import org.apache.bcel.generic.ObjectType;
 import org.apache.bcel.generic.ReferenceType;
 import org.apache.bcel.generic.Type;
 
+import com.j2js.ClassCache;
+import com.j2js.ClassHeader;
+import com.j2js.CompilationContext;
 import com.j2js.FileManager;
 import com.j2js.J2JSCompiler;
 import com.j2js.J2JSSettings;
+import com.j2js.Log;
 import com.j2js.Utils;
+import com.j2js.cfg.transformation.TransformationStats;
 import com.j2js.dom.ArrayCreation;
 import com.j2js.dom.FieldAccess;
 import com.j2js.dom.MethodBinding;
 import com.j2js.dom.MethodDeclaration;
 import com.j2js.dom.MethodInvocation;
 import com.j2js.dom.TypeDeclaration;
+import com.j2js.ts.MethodCache;
 import com.j2js.ts.TSHelper;
 import com.j2js.visitors.AbstractVisitor;
 
@@ -53,15 +65,33 @@ public class Project implements Serializable {
 
 	public transient AbstractVisitor generator;
 
+	// Cache of generated method code, or null if disabled.
+	public transient MethodCache methodCache;
+
+	private transient ClassCache classCache;
+
+	private transient TransformationStats transformationStats;
+
 	public Map<String, Integer> lambdaArgs = new HashMap<>();
 	public Map<String, Boolean> enums = new HashMap<>();
 	private Map<String, Map<String, String>> methodReplacers = new HashMap<>();
 
 	private Set<String> objectMethods = new HashSet<>();
 
-	private J2JSSettings settings;
+	private static Project singleton;
+
+	private DependencyIndex dependencyIndex = new DependencyIndex();
+
+	private transient J2JSSettings settings;
+
+	private transient CompilationContext context;
 
 	public Project(J2JSSettings settings) {
+		this(settings, new CompilationContext());
+	}
+
+	public Project(J2JSSettings settings, CompilationContext context) {
+		this.context = context;
 		objectMethods.add("hashCode");
 		objectMethods.add("equals");
 		objectMethods.add("toString");
@@ -71,7 +101,7 @@ public class Project implements Serializable {
 		this.settings = settings;
 	}
 
-	public Signature getArraySignature(Type type) {
+	public synchronized Signature getArraySignature(Type type) {
 		String signatureString = type.getSignature();
 		/*
 		 * Examples: L[java.lang.Integer;; -> [java.lang.Integer; L[I; -> [I
@@ -86,7 +116,7 @@ public class Project implements Serializable {
 	/**
 	 * All request for a signature delegate to this method.
 	 */
-	public Signature getSignature(String signatureString) {
+	public synchronized Signature getSignature(String signatureString) {
 		if (signatureString.endsWith(";")) {
 			// throw new RuntimeException("Invalid signature: " +
 			// signatureString);
@@ -102,11 +132,11 @@ public class Project implements Serializable {
 		return signature;
 	}
 
-	public Signature getSignature(String className, String relativeSignature) {
+	public synchronized Signature getSignature(String className, String relativeSignature) {
 		return getSignature(className + '#' + relativeSignature);
 	}
 
-	public Signature getSignature(FieldAccess fa) {
+	public synchronized Signature getSignature(FieldAccess fa) {
 		return getSignature(fa.getType().getClassName(), fa.getName());
 	}
 
@@ -128,7 +158,7 @@ public class Project implements Serializable {
 		return currentId - 1;
 	}
 
-	public void remove(ClassUnit clazz) {
+	public synchronized void remove(ClassUnit clazz) {
 		classesByName.remove(clazz);
 	}
 
@@ -149,7 +179,7 @@ public class Project implements Serializable {
 		return javaLangObject;
 	}
 
-	public ClassUnit getClassUnit(String className) {
+	public synchronized ClassUnit getClassUnit(String className) {
 		ClassUnit clazz = classesByName.get(className);
 		if (clazz != null)
 			return clazz;
@@ -157,7 +187,7 @@ public class Project implements Serializable {
 		throw new RuntimeException("No such unit: " + className);
 	}
 
-	public ClassUnit getClassUnit(ReferenceType type) {
+	public synchronized ClassUnit getClassUnit(ReferenceType type) {
 		String signature;
 		if (type instanceof ArrayType) {
 			ArrayType aType = (ArrayType) type;
@@ -172,7 +202,7 @@ public class Project implements Serializable {
 		return getClassUnit(signature);
 	}
 
-	public ClassUnit getOrCreateClassUnit(String className) {
+	public synchronized ClassUnit getOrCreateClassUnit(String className) {
 		ClassUnit classUnit = classesByName.get(className);
 		if (classUnit != null)
 			return classUnit;
@@ -189,14 +219,14 @@ public class Project implements Serializable {
 		return classUnit;
 	}
 
-	private MemberUnit getMemberUnitOrNull(String className, Signature signature) {
+	private synchronized MemberUnit getMemberUnitOrNull(String className, Signature signature) {
 		ClassUnit classUnit = getOrCreateClassUnit(className);
 		if (classUnit == null)
 			return null;
 		return classUnit.getDeclaredMember(signature.toString());
 	}
 
-	private MemberUnit getMemberUnit(String className, Signature signature) {
+	private synchronized MemberUnit getMemberUnit(String className, Signature signature) {
 		MemberUnit unit = getMemberUnitOrNull(className, signature);
 		if (unit == null) {
 			throw new RuntimeException("No such unit: " + className + "#" + signature);
@@ -205,19 +235,19 @@ public class Project implements Serializable {
 		return unit;
 	}
 
-	public ProcedureUnit getProcedureUnit(MethodBinding methodBinding) {
+	public synchronized ProcedureUnit getProcedureUnit(MethodBinding methodBinding) {
 		Signature signature = getSignature(methodBinding.getRelativeSignature());
 		String className = methodBinding.getDeclaringClass().getClassName();
 		return (ProcedureUnit) getMemberUnit(className, signature);
 	}
 
-	public ProcedureUnit getOrCreateProcedureUnit(MethodBinding methodBinding) {
+	public synchronized ProcedureUnit getOrCreateProcedureUnit(MethodBinding methodBinding) {
 		Signature signature = getSignature(methodBinding.getRelativeSignature());
 		String className = methodBinding.getDeclaringClass().getClassName();
 		return (ProcedureUnit) getOrCreateMemberUnit(className, signature);
 	}
 
-	private MemberUnit getOrCreateMemberUnit(String className, Signature signature) {
+	private synchronized MemberUnit getOrCreateMemberUnit(String className, Signature signature) {
 		MemberUnit member = getMemberUnitOrNull(className, signature);
 
 		if (member == null) {
@@ -245,21 +275,21 @@ public class Project implements Serializable {
 	// return unit;
 	// }
 
-	public FieldUnit getOrCreateFieldUnit(ObjectType type, String name) {
+	public synchronized FieldUnit getOrCreateFieldUnit(ObjectType type, String name) {
 		return (FieldUnit) getOrCreateMemberUnit(type.getClassName(), getSignature(name));
 	}
 
-	public void addReference(MethodDeclaration decl, FieldAccess fa) {
+	public synchronized void addReference(MethodDeclaration decl, FieldAccess fa) {
 		ProcedureUnit source = getOrCreateProcedureUnit(decl.getMethodBinding());
 		source.addTarget(getSignature(fa));
 	}
 
-	public void addReference(MethodDeclaration decl, MethodInvocation invocation) {
+	public synchronized void addReference(MethodDeclaration decl, MethodInvocation invocation) {
 		ProcedureUnit source = getOrCreateProcedureUnit(decl.getMethodBinding());
 		source.addTarget(getSignature(invocation.getMethodBinding().toString()));
 	}
 
-	public void addReference(MethodDeclaration decl, ArrayCreation ac) {
+	public synchronized void addReference(MethodDeclaration decl, ArrayCreation ac) {
 		ProcedureUnit source = getOrCreateProcedureUnit(decl.getMethodBinding());
 		Signature signature = getArraySignature(ac.getTypeBinding());
 		for (int i = 0; i < ac.getDimensions().size(); i++) {
@@ -269,10 +299,11 @@ public class Project implements Serializable {
 	}
 
 	/**
-	 * Returns a live collection of all classes managed by this project.
+	 * Returns a snapshot of all classes managed by this project, which may be
+	 * iterated while workers add classes.
 	 */
-	public Collection<ClassUnit> getClasses() {
-		return classesByName.values();
+	public synchronized Collection<ClassUnit> getClasses() {
+		return new ArrayList<ClassUnit>(classesByName.values());
 	}
 
 	public void resolve(ClassUnit clazz) {
@@ -298,51 +329,59 @@ public class Project implements Serializable {
 		}
 	}
 
-	public int getLambdaArguments(String signature) {
+	public synchronized int getLambdaArguments(String signature) {
 		String cls = signature.split("\\)L")[1];
-		Integer integer = lambdaArgs.get(cls);
-		if (integer != null) {
-			return integer;
-		}
 		cls = cls.substring(0, cls.length() - 1).replace('/', '.');
-		try {
-			Class<?> c = fileManager.getClassLoader().loadClass(cls);
-			Method[] methods = c.getMethods();
-			for (Method m : methods) {
-				if (!m.isDefault() && !Modifier.isStatic(m.getModifiers())) {
-					if (!objectMethods.contains(m.getName())) {
-						int count = m.getParameters().length;
-						lambdaArgs.put(cls, count);
-						return count;
-					}
-				}
+		Integer count = lambdaArgs.get(cls);
+		if (count == null) {
+			count = getFunctionArity(cls, new HashSet<String>());
+			if (count == null) {
+				throw new RuntimeException("Lambda method not found in " + cls);
 			}
-		} catch (ClassNotFoundException e) {
-			throw new RuntimeException(e);
+			lambdaArgs.put(cls, count);
 		}
-		throw new RuntimeException("Lambda method not found");
+		return count;
+	}
+
+	/**
+	 * Returns the number of parameters of the single abstract method of the
+	 * specified functional interface, or null if there is none.
+	 */
+	private Integer getFunctionArity(String cls, Set<String> visited) {
+		ClassHeader header = getClassHeader(cls);
+		if (header == null || !visited.add(cls)) {
+			return null;
+		}
+		for (ClassHeader.Member method : header.getAbstractMethods()) {
+			if (!objectMethods.contains(method.getName())) {
+				return Type.getArgumentTypes(method.getDescriptor()).length;
+			}
+		}
+		for (String superInterface : header.getInterfaceNames()) {
+			Integer count = getFunctionArity(superInterface, visited);
+			if (count != null) {
+				return count;
+			}
+		}
+		return null;
 	}
 
 	public boolean isEnum(ObjectType type) {
 		return isEnum(type.getClassName());
 	}
 
-	public boolean isEnum(String fullName) {
+	public synchronized boolean isEnum(String fullName) {
 		Boolean val = enums.get(fullName);
 		if (val != null) {
 			return val;
 		}
-		Class<?> cls = findClass(fullName);
-		if (cls != null) {
-			enums.put(fullName, cls.isEnum());
-			return cls.isEnum();
-		} else {
-			enums.put(fullName, false);
-			return false;
-		}
+		ClassHeader header = getClassHeader(fullName);
+		boolean isEnum = header != null && header.isEnum();
+		enums.put(fullName, isEnum);
+		return isEnum;
 	}
 
-	public String getMethodReplcerName(String cls, String name) {
+	public synchronized String getMethodReplcerName(String cls, String name) {
 		Map<String, String> map = methodReplacers.get(cls);
 		if (map == null) {
 			map = new HashMap<>();
@@ -352,15 +391,19 @@ public class Project implements Serializable {
 			return map.get(name);
 		}
 		String res = name;
-		Class<?> c = findClass(cls);
-		while (c != null) {
-			try {
-				c.getDeclaredField(name);
-				res = "_" + name;
+		String c = cls;
+		L: while (c != null) {
+			ClassHeader header = getClassHeader(c);
+			if (header == null) {
 				break;
-			} catch (Exception e) {
-				c = c.getSuperclass();
 			}
+			for (ClassHeader.Member field : header.getFields()) {
+				if (field.getName().equals(name)) {
+					res = "_" + name;
+					break L;
+				}
+			}
+			c = header.getSuperClassName();
 		}
 
 		if (res.equals("<clinit>")) {
@@ -373,35 +416,135 @@ public class Project implements Serializable {
 		return res;
 	}
 
+	/**
+	 * @return the reverse dependencies between the units of this project
+	 */
+	public DependencyIndex getDependencyIndex() {
+		return dependencyIndex;
+	}
+
+	/**
+	 * @return the cache of parsed class files, created on first use
+	 */
+	public synchronized ClassCache getClassCache() {
+		if (classCache == null) {
+			classCache = new ClassCache(getSettings().classCacheSize);
+		}
+		return classCache;
+	}
+
+	public synchronized void setClassCache(ClassCache classCache) {
+		this.classCache = classCache;
+	}
+
+	/**
+	 * @return the counters of the graph transformations applied while
+	 *         decompiling methods of this project, created on first use
+	 */
+	public synchronized TransformationStats getTransformationStats() {
+		if (transformationStats == null) {
+			transformationStats = new TransformationStats();
+		}
+		return transformationStats;
+	}
+
+	public synchronized CompilationContext getContext() {
+		if (context == null) {
+			context = new CompilationContext();
+		}
+		return context;
+	}
+
+	public synchronized void setContext(CompilationContext context) {
+		this.context = context;
+	}
+
 	public J2JSSettings getSettings() {
 		return settings;
 	}
 
-	public Class<?> findClass(String cls) {
-		try {
-			return fileManager.getClassLoader().loadClass(cls);
-		} catch (ClassNotFoundException e) {
-			return null;
+	/**
+	 * Returns the header of the class file of the specified class, or null if
+	 * there is no such class on the class path.
+	 */
+	public ClassHeader getClassHeader(String cls) {
+		return fileManager.getClassHeader(cls);
+	}
+
+	/**
+	 * Sets the super types of the specified class from the header of its
+	 * class file, so that they are known without parsing the class.
+	 */
+	public void setSuperTypes(ClassUnit clazz) {
+		ClassHeader header = getClassHeader(clazz.getName());
+		if (header == null) {
+			return;
+		}
+		synchronized (this) {
+			if (header.getSuperClassName() != null) {
+				clazz.setSuperUnit(getOrCreateClassUnit(header.getSuperClassName()));
+			}
+			for (String name : header.getInterfaceNames()) {
+				clazz.addInterface(getOrCreateClassUnit(name));
+			}
 		}
 	}
 
 	public static void clearSingleton() {
-		// TODO Auto-generated method stub
-
+		singleton = null;
 	}
 
+	/**
+	 * Returns the project of the previous compilation, if any. Otherwise the
+	 * project is read from the specified cache file or, if there is no
+	 * readable cache, created empty.
+	 */
 	public static Project createSingleton(File cacheFile) {
-		// TODO Auto-generated method stub
-		return null;
+		if (singleton == null && cacheFile != null && cacheFile.exists()) {
+			singleton = read(cacheFile);
+		}
+		if (singleton == null) {
+			singleton = new Project(new J2JSSettings());
+		}
+		return singleton;
 	}
 
 	public static Project getSingleton() {
-		// TODO Auto-generated method stub
-		return null;
+		if (singleton == null)
+			throw new NullPointerException("No project was created");
+		return singleton;
 	}
 
-	public static void write(J2JSCompiler j2jsCompiler) {
-		// TODO Auto-generated method stub
+	public static void write(J2JSCompiler j2jsCompiler) throws IOException {
+		File cacheFile = j2jsCompiler.getCacheFile();
+		Log.getLogger().info("Writing cache " + cacheFile);
+		write(getSingleton(), cacheFile);
+	}
 
+	/**
+	 * Reads a project from the specified cache file. Returns null if the cache
+	 * cannot be read, for example because it was written by an incompatible
+	 * version.
+	 */
+	public static Project read(File cacheFile) {
+		Log.getLogger().info("Reading cache " + cacheFile);
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			Project project = (Project) in.readObject();
+			project.settings = new J2JSSettings();
+			return project;
+		} catch (Exception e) {
+			Log.getLogger().warn("Ignoring unreadable cache " + cacheFile + ": " + e);
+			return null;
+		}
+	}
+
+	public static void write(Project project, File cacheFile) throws IOException {
+		File dir = cacheFile.getAbsoluteFile().getParentFile();
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+			out.writeObject(project);
+		}
 	}
 }
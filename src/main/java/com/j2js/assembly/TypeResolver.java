@@ -26,11 +26,13 @@ public class TypeResolver implements TypeVisitor {
 			// Class is an array class without class file: Do nothing.
 		} else if (!clazz.isUpToDate()) {
 			clazz.clear();
+			// Known even if the class fails to compile.
+			project.setSuperTypes(clazz);
 			try {
 				compile(clazz);
-				project.getSettings().compileCount++;
+				project.getSettings().incCompileCount();
 			} catch (RuntimeException ex) {
-				project.getSettings().errorCount++;
+				project.getSettings().incErrorCount();
 				logger.error(ex.toString());
 				// ex.printStackTrace();
 				if (project.getSettings().failOnError) {
@@ -69,4 +69,10 @@ public abstract class Unit implements Serializable {
 		isTainted = true;
 	}
 
+	public void untaint() {
+		if (isTainted)
+			Log.getLogger().debug("Untaint " + this);
+		isTainted = false;
+	}
+
 }
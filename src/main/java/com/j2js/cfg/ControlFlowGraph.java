@@ -1,20 +1,21 @@
 package com.j2js.cfg;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.TreeMap;
 
 import com.j2js.ASTNodeStack;
 import com.j2js.assembly.Project;
 import com.j2js.cfg.transformation.Transformation;
+import com.j2js.cfg.transformation.TransformationStats;
 import com.j2js.dom.ASTNode;
 import com.j2js.dom.Block;
 import com.j2js.dom.BooleanExpression;
 import com.j2js.dom.InfixExpression;
+import com.j2js.dom.MethodDeclaration;
 import com.j2js.dom.TryStatement;
 
 /**
@@ -23,7 +24,7 @@ import com.j2js.dom.TryStatement;
 public class ControlFlowGraph extends Graph {
 
 	// Ordering is only used by method getNodeAt().
-	private SortedMap<Integer, Node> nodesByPc = new TreeMap<Integer, Node>();
+	private TreeMap<Integer, Node> nodesByPc = new TreeMap<Integer, Node>();
 
 	// The single entry point of control.
 	private Node sourceNode;
@@ -31,9 +32,13 @@ public class ControlFlowGraph extends Graph {
 	private List tryStatements;
 	private Project project;
 
+	// Fetched once per graph, Project#getTransformationStats() is synchronized.
+	private TransformationStats stats;
+
 	public ControlFlowGraph(Project project, List theTryStatements) {
 		tryStatements = theTryStatements;
 		this.project = project;
+		stats = project != null ? project.getTransformationStats() : null;
 	}
 
 	/**
@@ -83,22 +88,11 @@ public class ControlFlowGraph extends Graph {
 	 * specified pc.
 	 */
 	public Node getNodeAt(int pc) {
-		int minPcDelta = Integer.MAX_VALUE;
-		Node node = null;
-		for (Node n : getNodes()) {
-			if (n.getInitialPc() <= pc && pc - n.getInitialPc() < minPcDelta) {
-				minPcDelta = pc - n.getInitialPc();
-				node = n;
-				if (minPcDelta == 0)
-					return node;
-			}
-		}
-
-		if (node == null) {
+		Map.Entry<Integer, Node> entry = nodesByPc.floorEntry(pc);
+		if (entry == null) {
 			throw new RuntimeException("No node at pc " + pc);
 		}
-
-		return node;
+		return entry.getValue();
 	}
 
 	/**
@@ -183,7 +177,7 @@ public class ControlFlowGraph extends Graph {
 			if (sourceTry == null)
 				continue;
 
-			for (Edge edge : node.getOutEdges()) {
+			for (Edge edge : new ArrayList<Edge>(node.getOutEdges())) {
 				if (edge.target.getInEdges().size() != 1) {
 					continue;
 				}
@@ -272,7 +266,7 @@ public class ControlFlowGraph extends Graph {
 		}
 
 		do {
-			Transformation t = Transformation.select(project, this, node);
+			Transformation t = Transformation.select(project, stats, this, node);
 			if (t == null)
 				break;
 			node = t.apply();
@@ -302,7 +296,14 @@ public class ControlFlowGraph extends Graph {
 		}
 	}
 
-	public Block reduce() {
+	/**
+	 * Reduces this graph to structured statements.
+	 *
+	 * @param methodDecl
+	 *            the method of this graph, which declares the state variable of
+	 *            irreducible loops
+	 */
+	public Block reduce(MethodDeclaration methodDecl) {
 		processTrys();
 		processTrys2();
 
@@ -312,6 +313,11 @@ public class ControlFlowGraph extends Graph {
 		DominatorTree builder = new DominatorTree(this);
 		builder.build();
 
+		if (new IrreducibleLoops(this, methodDecl).process() > 0) {
+			dump("After dispatching irreducible loops");
+			builder.build();
+		}
+
 		processTrys1();
 
 		visitToMark(getSource());
@@ -381,26 +387,48 @@ public class ControlFlowGraph extends Graph {
 		return true;
 	}
 
+	/**
+	 * Performs all possible AND and OR shortcuts. Branches are examined in node
+	 * order. After a shortcut, only the branches whose shortcuts may have
+	 * changed are examined again: the merged branch and the predecessors of it
+	 * and of its targets. All other branches failed before and still fail, so
+	 * this finds the same shortcuts in the same order as rescanning all
+	 * branches after each shortcut.
+	 */
 	public void processShortcuts() {
-		Collection<Node> branches = new HashSet<Node>();
+		// Indices of the branches to examine.
+		BitSet worklist = new BitSet();
 		for (Node node : getNodes()) {
 			if (node.isBranch())
-				branches.add(node);
+				worklist.set(node.getIndex());
 		}
 
-		L: while (true) {
-			Iterator<Node> iter = branches.iterator();
-			while (iter.hasNext()) {
-				Node branch = iter.next();
-				for (Node node : branch.succs()) {
-					if (node.isBranch() && performAndOrShortcut(branch, node)) {
-						branches.remove(node);
-						continue L;
+		int index;
+		while ((index = worklist.nextSetBit(0)) != -1) {
+			worklist.clear(index);
+			Node branch = getNodeByIndex(index);
+			if (branch == null) {
+				// Removed by a shortcut.
+				continue;
+			}
+			for (Node node : branch.succs()) {
+				if (node.isBranch() && performAndOrShortcut(branch, node)) {
+					worklist.clear(node.getIndex());
+					worklist.set(branch.getIndex());
+					addBranchPreds(branch, worklist);
+					for (Node succ : branch.succs()) {
+						addBranchPreds(succ, worklist);
 					}
+					break;
 				}
 			}
-			break L;
 		}
+	}
 
+	private void addBranchPreds(Node node, BitSet worklist) {
+		for (Edge edge : node.getInEdges()) {
+			if (edge.source.isBranch())
+				worklist.set(edge.source.getIndex());
+		}
 	}
 }
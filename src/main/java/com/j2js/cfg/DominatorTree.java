@@ -6,228 +6,160 @@ import com.j2js.Log;
 
 /**
  * Class to build the dominator tree of a given control flow graph.
- * The algorithm is according Purdum-Moore, which isn't as fast as Lengauer-Tarjan, but a lot simpler.
+ * The algorithm is according Cooper, Harvey and Kennedy, "A Simple, Fast Dominance Algorithm".
+ * It iterates over the nodes in reverse post-order and intersects the dominators of the
+ * predecessors by walking up the current tree, which is near-linear for reducible graphs.
  */
 public class DominatorTree {
-  
+
     private ControlFlowGraph graph;
-    
+
     public DominatorTree(ControlFlowGraph theGraph) {
         graph = theGraph;
     }
-    
+
     /**
-     * Sets the pre-order index of a node.
+     * Sets the pre-order index of all nodes reachable from the source, visiting the successors
+     * of a node in the order of Node#succs(). The traversal uses an explicit stack, so that
+     * large graphs do not overflow the call stack.
+     *
+     * @param preOrder receives the nodes in pre-order
+     * @return the nodes in post-order
      */
-    private void visit(Node node, Collection<Node> visited) {
-        // Establish preorder index.
-        node.setPreOrderIndex(visited.size());
-        visited.add(node);
-        
-        for (Node succ : node.succs()) {
-            if (! visited.contains(succ)) {
-                visit(succ, visited);
+    private List<Node> visit(Node source, List<Node> preOrder) {
+        List<Node> postOrder = new ArrayList<Node>();
+        boolean[] visited = new boolean[graph.getIndexBound()];
+        Deque<Node> nodes = new ArrayDeque<Node>();
+        Deque<Iterator<Node>> succs = new ArrayDeque<Iterator<Node>>();
+
+        source.setPreOrderIndex(preOrder.size());
+        preOrder.add(source);
+        visited[source.getIndex()] = true;
+        nodes.push(source);
+        succs.push(source.succs().iterator());
+
+        while (!nodes.isEmpty()) {
+            Iterator<Node> iter = succs.peek();
+            if (iter.hasNext()) {
+                Node succ = iter.next();
+                if (!visited[succ.getIndex()]) {
+                    visited[succ.getIndex()] = true;
+                    // Establish preorder index.
+                    succ.setPreOrderIndex(preOrder.size());
+                    preOrder.add(succ);
+                    nodes.push(succ);
+                    succs.push(succ.succs().iterator());
+                }
+            } else {
+                postOrder.add(nodes.pop());
+                succs.pop();
             }
         }
-
+        return postOrder;
     }
-    
+
     /**
-     * Builds the dominator tree and store it in the respective nodes. 
+     * Builds the dominator tree and store it in the respective nodes.
      * It will remove all unreachable nodes on the way!
-     */  
+     */
     public void build() {
 
         // Construct list of nodes in pre-order order.
         ArrayList<Node> preOrder = new ArrayList<Node>();
-      
-        visit(graph.getSource(), preOrder);
+
+        List<Node> postOrder = visit(graph.getSource(), preOrder);
+        int size = postOrder.size();
+
+        // Post-order number of each node by node index, -1 for unreachable nodes.
+        int[] numbers = new int[graph.getIndexBound()];
+        Arrays.fill(numbers, -1);
+        for (int i = 0; i < size; i++) {
+            numbers[postOrder.get(i).getIndex()] = i;
+        }
 
         // Remove unreachable nodes.
         for (Node node :  new ArrayList<Node>(graph.getNodes())) {
-            if (!preOrder.contains(node)) {
+            if (numbers[node.getIndex()] == -1) {
                 Log.getLogger().warn("Unreachable code detected and removed");
                 //Logger.getLogger().info("Removed " + node);
                 graph.removeInEdges(node);
                 graph.removeOutEdges(node);
                 graph.removeNode(node);
-            } else if (node.getPreOrderIndex() == -1) {
-                throw new RuntimeException("Pre-order not set for " + node);
             }
         }
-      
-      
-        int size = graph.size();          // The number of vertices in the cfg
-    
-        Map snkPreds = new HashMap();     // The predacessor vertices from the sink
-    
-
-        // Determine the predacessors of the cfg's sink node
-        //insertEdgesToSink(graph, snkPreds, reverse);
-    
-        // Get the index of the root
-        int rootIndex = graph.getSource().getPreOrderIndex();
-    
-        if (rootIndex < 0 || rootIndex >= size) throw new RuntimeException("Root index out of range");
-
-        // Bit matrix indicating the dominators of each node.
-        // If bit j of dom[i] is set, then node j dominates node i.
-        BitSet[] domMatrix = new BitSet[size];
-
-        // Initially, all the bits in the dominance matrix are set, except
-        // for the root node. The root node is initialized to have itself
-        // as an immediate dominator.
+
+        // The predecessors of each node by post-order number.
+        int[][] preds = new int[size][];
         for (int i = 0; i < size; i++) {
-              BitSet domVector = new BitSet(size);
-        
-              if (i == rootIndex) {
-                  // Only root dominates root.
-                  domVector.set(rootIndex);
-              }
-              else {
-                  // Assume that all nodes dominate non-root node i. 
-                  domVector.set(0, size);
-              }
-              
-              domMatrix[i] = domVector;
+            Collection<Node> nodePreds = postOrder.get(i).preds();
+            int[] p = new int[nodePreds.size()];
+            int count = 0;
+            for (Node pred : nodePreds) {
+                int j = numbers[pred.getIndex()];
+                if (j == -1) throw new RuntimeException("Unreachable node " + pred);
+                p[count++] = j;
+            }
+            preds[i] = p;
         }
 
-        // Did the dominator bit vector array change?
+        // The immediate dominator of each node by post-order number, -1 if not yet known.
+        // The source is last in post-order and is its own immediate dominator.
+        int root = size - 1;
+        int[] idoms = new int[size];
+        Arrays.fill(idoms, -1);
+        idoms[root] = root;
+
+        // Did the immediate dominator of any node change?
         boolean changed;
-    
+
         do {
             changed = false;
-        
-            // Fetch all nodes in pre-order.
-            Iterator nodes = preOrder.iterator();
-        
-            // Compute the dominators of each node in the cfg.  We iterate 
-            // over every node in the cfg.  The dominators of a node N are
-            // found by taking the intersection of the dominator bit vectors
-            // of each predacessor of N and unioning that with N.  This 
-            // process is repeated until no changes are made to any dominator
-            // bit vector.
-      
-            while (nodes.hasNext()) {
-                Node node = (Node) nodes.next();
-
-                int i = node.getPreOrderIndex();
-
-                if (i < 0 || i >= size) throw new RuntimeException("Unreachable node " + node);
-
-                // We already know the dominators of the root, keep looking
-                if (i == rootIndex) {
-                    continue;
-                }
-
-                BitSet oldSet = domMatrix[i];
-                
-                // domVector := intersection of dom(pred) for all pred(node).
-                BitSet domVector = new BitSet(size);
-                domVector.or(oldSet);
-
-                
-                Collection preds = node.preds();
-
-                Iterator e = preds.iterator();
 
-                // Find the intersection of the dominators of node's 
-                // predacessors.
-                while (e.hasNext()) {
-                    Node pred = (Node) e.next();
-
-                    int j = pred.getPreOrderIndex();
-                    if (j == -1) throw new RuntimeException("Unreachable node " + pred);
-
-                    domVector.and(domMatrix[j]);
-                }
-
-                // Don't forget to account for the sink node if node is a
-                // leaf node.  Appearantly, there are not edges between 
-                // leaf nodes and the sink node!
-                preds = (Collection) snkPreds.get(node);
-
-                if (preds != null) {
-                    e = preds.iterator();
-
-                    while (e.hasNext()) {
-                        Node pred = (Node) e.next();
-
-                        int j = pred.getPreOrderIndex();
-
-                        domVector.and(domMatrix[j]);
+            // Visit all nodes except the source in reverse post-order.
+            for (int i = root - 1; i >= 0; i--) {
+                int newIdom = -1;
+                for (int pred : preds[i]) {
+                    if (idoms[pred] == -1) {
+                        // Not yet processed.
+                        continue;
                     }
+                    newIdom = newIdom == -1 ? pred : intersect(idoms, pred, newIdom);
                 }
-
-                // Include yourself in your dominators?!
-                domVector.set(i);
-
-                // If the set changed, set the changed bit.
-                if (!domVector.equals(oldSet)) {
+                if (newIdom == -1) throw new RuntimeException(postOrder.get(i) + " has 0 immediate dominators");
+                if (idoms[i] != newIdom) {
+                    idoms[i] = newIdom;
                     changed = true;
-                    domMatrix[i] = domVector;
                 }
             }
         } while (changed);
 
-        // Once we have the predacessor bit vectors all squared away, we can
-        // determine which vertices dominate which vertices.
-
         // Initialize each node's (post)dominator parent and children
         for (Node node : graph.getNodes()) {
             node.setDomParent(null);
             node.getDomChildren().clear();
         }
 
-        // A node's immediate dominator is its closest dominator.  So, we
-        // start with the dominators, dom(b), of a node, b.  To find the 
-        // imediate dominator of b, we remove all nodes from dom(b) that
-        // dominate any node in dom(b).
-
         for (Node node : graph.getNodes()) {
-            int i = node.getPreOrderIndex();
-    
-            if (i < 0 || i >= size) throw new RuntimeException("Unreachable node " + node);
-    
-            if (i == rootIndex) {
+            int i = numbers[node.getIndex()];
+            if (i == root) {
                 continue;
             }
+            node.setDomParent(postOrder.get(idoms[i]));
+        }
+    }
 
-            // Find the immediate dominator
-            // idom := dom(node) - dom(dom(node)) - node
-            BitSet domVector = domMatrix[i];
-    
-            BitSet idom = new BitSet(size);
-            idom.or(domVector);
-            idom.clear(i);
-    
-            for (int j = 0; j < size; j++) {
-                if (i != j && domVector.get(j)) {
-                    // idom = idom - (domMatrix[j] - {j})
-                    BitSet b = new BitSet(size);
-                    // Complement of domMatrix[j].
-                    b.or(domMatrix[j]); b.flip(0, size);
-                    b.set(j);
-                    idom.and(b);
-                }
+    /**
+     * Returns the nearest common dominator of the two specified nodes, given by post-order number.
+     */
+    private static int intersect(int[] idoms, int finger1, int finger2) {
+        while (finger1 != finger2) {
+            while (finger1 < finger2) {
+                finger1 = idoms[finger1];
             }
-    
-            Node parent = null;
-    
-            // A node should only have one immediate dominator.
-            for (int j = 0; j < size; j++) {
-                if (idom.get(j)) {
-                    Node p = preOrder.get(j);
-                    if (parent != null) 
-                        throw new RuntimeException(node + " has more than one immediate dominator: " + parent + " and " + p);
-                    parent = p;
-                }
+            while (finger2 < finger1) {
+                finger2 = idoms[finger2];
             }
-    
-            if (parent == null) 
-                throw new RuntimeException(node + " has 0 immediate dominators");
-    
-            node.setDomParent(parent);
         }
+        return finger1;
     }
 }
@@ -24,7 +24,7 @@ public class Edge {
     public boolean equals(Object other) {
         if (other == null || !(other instanceof Edge)) return false;
         Edge otherEdge = (Edge) other;
-        return source.getId().equals(otherEdge.source.getId()) && target.getId().equals(otherEdge.target.getId());
+        return source.index == otherEdge.source.index && target.index == otherEdge.target.index;
     }
     
     /**
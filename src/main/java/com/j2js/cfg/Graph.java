@@ -1,14 +1,14 @@
 package com.j2js.cfg;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import com.j2js.Log;
@@ -21,39 +21,61 @@ import com.j2js.dom.IfStatement;
 
 public abstract class Graph {
 
-    private Map<String, Node> nodes = new HashMap<String, Node>();
+    // Nodes by index, null for removed nodes. The index of a new node is nodeIdSequence.
+    private Node[] nodes = new Node[16];
     
     int nodeIdSequence = 0;
     
+    // Number of nodes not removed.
+    private int nodeCount = 0;
+    
+    private int modCount = 0;
+    
+    private int labelSequence = 0;
+    
     Log logger = Log.getLogger();
     
     public Graph() {
     }
 
     public Node getNodeById(String id) {
-        return nodes.get(id);
+        return getNodeByIndex(Integer.parseInt(id, 26));
     }
     
-    public Node createNode(Class nodeClass) {
-        return createNode(nodeClass, Integer.toString(nodeIdSequence++, 26));
+    /**
+     * Returns the node with the specified index, or null if it was removed.
+     */
+    public Node getNodeByIndex(int index) {
+        return index < nodeIdSequence ? nodes[index] : null;
+    }
+    
+    /**
+     * Returns one more than the largest index of any node ever created in this graph.
+     * Arrays of this length can be indexed by Node#getIndex().
+     */
+    public int getIndexBound() {
+        return nodeIdSequence;
     }
     
-    public Node createNode(Class nodeClass, String id) {
+    public Node createNode(Class nodeClass) {
         Node node;
-        try {
-            Constructor constructor = nodeClass.getConstructor(new Class[]{Graph.class});
-            node = (Node) constructor.newInstance(new Object[] {this});
-        } catch (InstantiationException e) {
-            throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        } catch (InvocationTargetException e) {
-            throw new RuntimeException(e);
+        if (nodeClass.equals(Node.class)) {
+            node = new Node(this);
+        } else if (nodeClass.equals(TryHeaderNode.class)) {
+            node = new TryHeaderNode(this);
+        } else if (nodeClass.equals(WrapperNode.class)) {
+            node = new WrapperNode(this);
+        } else {
+            throw new RuntimeException("Illegal node class " + nodeClass);
+        }
+        
+        if (nodeIdSequence == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
         }
-        node.id = id;
-        nodes.put(id, node);
+        node.index = nodeIdSequence++;
+        nodes[node.index] = node;
+        nodeCount++;
+        modCount++;
         return node;
     }
     
@@ -129,7 +151,8 @@ public abstract class Graph {
     }
     
     public Edge getEdge(Node source, Node target) {
-        for (Edge edge : source.getOutEdges()) {
+        for (int i=0; i<source.outEdges.size(); i++) {
+            Edge edge = source.outEdges.get(i);
             if (edge.target == target) return edge;
         }
         return null;
@@ -140,7 +163,7 @@ public abstract class Graph {
     }
     
     public Set<Edge> removeOutEdges(Node node) {
-        Set<Edge> outEdges = new HashSet<Edge>(node.outEdges);
+        Set<Edge> outEdges = new LinkedHashSet<Edge>(node.outEdges);
         Iterator iter = outEdges.iterator();
         while (iter.hasNext()) {
             Edge edge = (Edge) iter.next();
@@ -156,7 +179,7 @@ public abstract class Graph {
      * @return the set of removed in-edges
      */
     public Set removeInEdges(Node node) {
-        Set<Edge> inEdges = new HashSet<Edge>(node.inEdges);
+        Set<Edge> inEdges = new LinkedHashSet<Edge>(node.inEdges);
         Iterator<Edge> iter = inEdges.iterator();
         while (iter.hasNext()) {
             Edge edge = iter.next();
@@ -167,9 +190,9 @@ public abstract class Graph {
     }
     
     public Set removeSelfEdges(Node node) {
-        Set<Edge> selfEdges = new HashSet<Edge>();
+        Set<Edge> selfEdges = new LinkedHashSet<Edge>();
         
-        for (Edge edge: new HashSet<Edge>(node.outEdges)) {
+        for (Edge edge: new ArrayList<Edge>(node.outEdges)) {
             if (edge.target != node) continue;
             removeEdge(edge);
             selfEdges.add(edge);
@@ -200,7 +223,11 @@ public abstract class Graph {
     }
     
     public void replaceNode(Node oldNode, Node newNode) {
-        nodes.remove(oldNode.getId());
+        if (nodes[oldNode.index] == oldNode) {
+            nodes[oldNode.index] = null;
+            nodeCount--;
+            modCount++;
+        }
         
         if (newNode != null) {
             // Redirect all in-edges for oldNode to newNode.
@@ -221,14 +248,57 @@ public abstract class Graph {
         oldNode.setDomParent(null);
     }
 	
+    /**
+     * Returns a view of the nodes of this graph in order of creation.
+     */
     public Collection<Node> getNodes() {
-        return nodes.values();
+        return new AbstractCollection<Node>() {
+            public Iterator<Node> iterator() {
+                return new NodeIterator();
+            }
+
+            public int size() {
+                return nodeCount;
+            }
+        };
     }
     
 	public int size() {
-		return getNodes().size();
+		return nodeCount;
 	}
 
+    private class NodeIterator implements Iterator<Node> {
+        
+        private int cursor = advance(0);
+        
+        private int expectedModCount = modCount;
+        
+        private int advance(int index) {
+            while (index < nodeIdSequence && nodes[index] == null) index++;
+            return index;
+        }
+        
+        public boolean hasNext() {
+            return cursor < nodeIdSequence;
+        }
+        
+        public Node next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (cursor >= nodeIdSequence) throw new NoSuchElementException();
+            Node node = nodes[cursor];
+            cursor = advance(cursor + 1);
+            return node;
+        }
+    }
+
+    /**
+     * Assigns a label unique within this graph to the specified block, if it has none yet.
+     */
+    public Block labeled(Block block) {
+        if (!block.isLabeled()) block.setLabel("L" + (++labelSequence));
+        return block;
+    }
+
     public Block reduceDumb() {
         Block block = new Block();
         
@@ -241,14 +311,14 @@ public abstract class Graph {
                 ifStmt.setExpression(cEdge.getBooleanExpression().getExpression());
                 ifStmt.setIfBlock(new Block());
                 Block targetBlock = cEdge.target.block;
-                ifStmt.getIfBlock().appendChild(new BreakStatement(targetBlock));
+                ifStmt.getIfBlock().appendChild(new BreakStatement(labeled(targetBlock)));
                 ifStmt.setElseBlock(new Block());
                 targetBlock = node.getConditionalEdge(false).target.block;
-                ifStmt.getElseBlock().appendChild(new BreakStatement(targetBlock));
+                ifStmt.getElseBlock().appendChild(new BreakStatement(labeled(targetBlock)));
                 block.appendChild(ifStmt);
             } else {
                 for (Edge e : node.getOutEdges()) {
-                    BreakStatement bStmt = new BreakStatement(e.target.block);
+                    BreakStatement bStmt = new BreakStatement(labeled(e.target.block));
                     node.block.appendChild(bStmt);
                 }
             }
@@ -0,0 +1,262 @@
+package com.j2js.cfg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.bcel.generic.Type;
+
+import com.j2js.dom.Assignment;
+import com.j2js.dom.MethodDeclaration;
+import com.j2js.dom.NumberLiteral;
+import com.j2js.dom.VariableBinding;
+import com.j2js.dom.VariableDeclaration;
+
+/**
+ * Makes the irreducible loops of a control flow graph reducible. An irreducible
+ * loop is a strongly connected region with more than one entry, which the
+ * transformations cannot reduce. All edges to its entries are redirected
+ * through a new dispatcher node, which switches on a state variable set by one
+ * new node per entry. The dispatcher is then the single entry of the loop,
+ * which is reduced to a while loop around a switch statement. No code is
+ * duplicated, and reducible loops, including those nested in an irreducible
+ * loop, are left alone.
+ */
+public class IrreducibleLoops {
+
+	private static final Comparator<Node> BY_INDEX = new Comparator<Node>() {
+		public int compare(Node a, Node b) {
+			return a.getIndex() - b.getIndex();
+		}
+	};
+
+	private ControlFlowGraph graph;
+
+	private MethodDeclaration methodDecl;
+
+	// The state variable shared by all dispatchers, created on first use.
+	private VariableDeclaration state;
+
+	private int dispatcherCount;
+
+	public IrreducibleLoops(ControlFlowGraph theGraph, MethodDeclaration theMethodDecl) {
+		graph = theGraph;
+		methodDecl = theMethodDecl;
+	}
+
+	/**
+	 * Inserts a dispatcher for each irreducible loop. The dominator tree must
+	 * be rebuilt if any was inserted.
+	 *
+	 * @return the number of dispatchers inserted
+	 */
+	public int process() {
+		process(new ArrayList<Node>(graph.getNodes()));
+		return dispatcherCount;
+	}
+
+	/**
+	 * Processes the loops within the specified region. The loops nested in a
+	 * loop are the loops of its body, which is the loop without its header.
+	 */
+	private void process(List<Node> region) {
+		for (List<Node> loop : findLoops(region)) {
+			List<Node> entries = getEntries(loop);
+			Node header;
+			if (entries.size() == 1) {
+				header = entries.get(0);
+			} else if (entries.size() > 1 && canDispatch(entries)) {
+				header = dispatch(loop, entries);
+			} else {
+				continue;
+			}
+			loop.remove(header);
+			process(loop);
+		}
+	}
+
+	/**
+	 * Returns the strongly connected components of the region which contain a
+	 * cycle, each sorted by node index. Only edges between nodes of the region
+	 * are considered. This is Tarjan's algorithm with an explicit stack.
+	 */
+	private List<List<Node>> findLoops(List<Node> region) {
+		int bound = graph.getIndexBound();
+		boolean[] inRegion = new boolean[bound];
+		for (Node node : region) {
+			inRegion[node.getIndex()] = true;
+		}
+		// Depth first number of each node plus one, 0 if not yet visited.
+		int[] numbers = new int[bound];
+		int[] lowLinks = new int[bound];
+		boolean[] onStack = new boolean[bound];
+		List<Node> stack = new ArrayList<Node>();
+		List<List<Node>> loops = new ArrayList<List<Node>>();
+		int count = 0;
+
+		List<Node> path = new ArrayList<Node>();
+		List<Integer> positions = new ArrayList<Integer>();
+		for (Node root : region) {
+			if (numbers[root.getIndex()] != 0) continue;
+			path.add(root);
+			positions.add(0);
+			numbers[root.getIndex()] = lowLinks[root.getIndex()] = ++count;
+			stack.add(root);
+			onStack[root.getIndex()] = true;
+
+			while (!path.isEmpty()) {
+				int top = path.size() - 1;
+				Node node = path.get(top);
+				int position = positions.get(top);
+				if (position < node.outEdges.size()) {
+					positions.set(top, position + 1);
+					Node succ = node.outEdges.get(position).target;
+					int s = succ.getIndex();
+					if (!inRegion[s]) continue;
+					if (numbers[s] == 0) {
+						numbers[s] = lowLinks[s] = ++count;
+						stack.add(succ);
+						onStack[s] = true;
+						path.add(succ);
+						positions.add(0);
+					} else if (onStack[s]) {
+						lowLinks[node.getIndex()] = Math.min(lowLinks[node.getIndex()], numbers[s]);
+					}
+					continue;
+				}
+
+				path.remove(top);
+				positions.remove(top);
+				int n = node.getIndex();
+				if (top > 0) {
+					int p = path.get(top - 1).getIndex();
+					lowLinks[p] = Math.min(lowLinks[p], lowLinks[n]);
+				}
+				if (lowLinks[n] != numbers[n]) continue;
+
+				// Node is the root of a component.
+				List<Node> component = new ArrayList<Node>();
+				Node member;
+				do {
+					member = stack.remove(stack.size() - 1);
+					onStack[member.getIndex()] = false;
+					component.add(member);
+				} while (member != node);
+				if (component.size() > 1 || node.hasSelfEdges()) {
+					Collections.sort(component, BY_INDEX);
+					loops.add(component);
+				}
+			}
+		}
+		return loops;
+	}
+
+	/**
+	 * Returns the nodes of the loop which are entered from outside the loop,
+	 * sorted by node index.
+	 */
+	private List<Node> getEntries(List<Node> loop) {
+		boolean[] inLoop = members(loop);
+		List<Node> entries = new ArrayList<Node>();
+		for (Node node : loop) {
+			if (node == graph.getSource()) {
+				entries.add(node);
+				continue;
+			}
+			for (Edge edge : node.getInEdges()) {
+				if (!inLoop[edge.source.getIndex()]) {
+					entries.add(node);
+					break;
+				}
+			}
+		}
+		return entries;
+	}
+
+	private boolean[] members(List<Node> nodes) {
+		boolean[] members = new boolean[graph.getIndexBound()];
+		for (Node node : nodes) {
+			members[node.getIndex()] = true;
+		}
+		return members;
+	}
+
+	/**
+	 * Returns false if an edge to an entry belongs to a try statement, which
+	 * must keep its target.
+	 */
+	private boolean canDispatch(List<Node> entries) {
+		for (Node entry : entries) {
+			if (entry == graph.getSource()) return false;
+			for (Edge edge : entry.getInEdges()) {
+				if (edge.type != null) return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Redirects all edges to the entries of the loop through a new dispatcher.
+	 * Edges from inside the loop go through setters which are added to the
+	 * loop, so that the dispatcher dominates the whole loop.
+	 *
+	 * @return the dispatcher
+	 */
+	private Node dispatch(List<Node> loop, List<Node> entries) {
+		if (state == null) {
+			state = methodDecl.createAnonymousVariableDeclaration(Type.INT);
+		}
+		boolean[] inLoop = members(loop);
+
+		Node dispatcher = graph.createNode(Node.class);
+		dispatcher.isSwitchHeader = true;
+		dispatcher.switchExpression = new VariableBinding(state);
+
+		for (int i = 0; i < entries.size(); i++) {
+			Node entry = entries.get(i);
+			Node outerSetter = null;
+			Node innerSetter = null;
+			for (Edge edge : entry.getInEdgesArray()) {
+				if (edge instanceof SwitchEdge) {
+					// Only the switch may enter a case group, see Switch.
+					Node setter = createSetter(i, dispatcher);
+					edge.redirect(setter);
+					if (inLoop[edge.source.getIndex()]) {
+						loop.add(setter);
+					}
+				} else if (inLoop[edge.source.getIndex()]) {
+					if (innerSetter == null) innerSetter = createSetter(i, dispatcher);
+					edge.redirect(innerSetter);
+				} else {
+					if (outerSetter == null) outerSetter = createSetter(i, dispatcher);
+					edge.redirect(outerSetter);
+				}
+			}
+			if (innerSetter != null) {
+				loop.add(innerSetter);
+			}
+			SwitchEdge edge = (SwitchEdge) graph.addEdge(dispatcher, entry, SwitchEdge.class);
+			edge.expressions.add(NumberLiteral.create(i));
+		}
+
+		loop.add(dispatcher);
+		dispatcherCount++;
+		graph.logger.debug("Inserted " + dispatcher + " for irreducible loop with entries " + entries);
+		return dispatcher;
+	}
+
+	/**
+	 * Creates a node which assigns the specified value to the state variable
+	 * and continues at the dispatcher.
+	 */
+	private Node createSetter(int value, Node dispatcher) {
+		Node setter = graph.createNode(Node.class);
+		Assignment a = new Assignment(Assignment.Operator.ASSIGN);
+		a.setLeftHandSide(new VariableBinding(state));
+		a.setRightHandSide(NumberLiteral.create(value));
+		setter.block.appendChild(a);
+		graph.addEdge(setter, dispatcher);
+		return setter;
+	}
+}
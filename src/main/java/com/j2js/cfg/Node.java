@@ -7,7 +7,6 @@ package com.j2js.cfg;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 import com.j2js.ASTNodeStack;
@@ -15,6 +14,7 @@ import com.j2js.cfg.transformation.Transformation;
 import com.j2js.dom.Block;
 import com.j2js.dom.Expression;
 import com.j2js.dom.IfStatement;
+import com.j2js.util.ArraySet;
 
 /**
  * @author wolfgang
@@ -30,10 +30,11 @@ public class Node {
     public static int REDUCIBLE = 1;
     public static int IRREDUCIBLE = 2;
     
-    String id;
+    // Dense index of this node within its graph.
+    int index = -1;
     
-    Set<Edge> inEdges = new LinkedHashSet<Edge>();
-    Set<Edge> outEdges = new LinkedHashSet<Edge>();
+    ArraySet<Edge> inEdges = new ArraySet<Edge>();
+    ArraySet<Edge> outEdges = new ArraySet<Edge>();
     Graph graph;
     private int currentPc = -1;
     private int initialPc = -1;
@@ -44,7 +45,7 @@ public class Node {
     protected int preOrderIndex = -1;
     
     private Node domParent;                         // Block that (immediately) dominates this Block
-    private Set<Node> domChildren = new HashSet<Node>();        // Blocks that this Block dominates
+    private Set<Node> domChildren = new ArraySet<Node>();        // Blocks that this Block dominates
     
     IfStatement ifStmt;
     public Expression switchExpression;
@@ -109,9 +110,9 @@ public class Node {
         // Same as getClass().getSimpleName() in JDK 5.0.
         s = s.replaceFirst(".*\\.", "");
 
-        s += " " + id + "[" + initialPc + ", " + currentPc + "]";
+        s += " " + getId() + "[" + initialPc + ", " + currentPc + "]";
         //if (preOrderIndex >= 0) s += " preIndex=" + preOrderIndex;
-        if (domParent != null) s += " dominated by " + domParent.id;
+        if (domParent != null) s += " dominated by " + domParent.getId();
         if (isLoopHeader()) s += " LH";
         return s;
     }
@@ -187,16 +188,15 @@ public class Node {
     }
     
     public Set<Node> succs() {
-        Set<Node> list = new LinkedHashSet<Node>();
-        Edge[] edges = getOutEdgesArray();
-        for (int i=edges.length-1; i>=0; i--) {
-            list.add(edges[i].target);
+        Set<Node> list = new ArraySet<Node>();
+        for (int i=outEdges.size()-1; i>=0; i--) {
+            list.add(outEdges.get(i).target);
         }
         return list;
     }
     
     public Set<Node> preds() {
-        Set<Node> list = new LinkedHashSet<Node>();
+        Set<Node> list = new ArraySet<Node>();
         Iterator iter = inEdges.iterator();
         while (iter.hasNext()) {
             Edge e = (Edge) iter.next();
@@ -272,10 +272,11 @@ public class Node {
     }
 
     public boolean isBranch() {
-        Edge[] edges = getOutEdgesArray();
-        if (edges.length != 2) return false;
-        if (edges[0] instanceof ConditionalEdge && edges[1] instanceof ConditionalEdge) return true;
-        if ((edges[0] instanceof ConditionalEdge) || (edges[1] instanceof ConditionalEdge))
+        if (outEdges.size() != 2) return false;
+        Edge edge0 = outEdges.get(0);
+        Edge edge1 = outEdges.get(1);
+        if (edge0 instanceof ConditionalEdge && edge1 instanceof ConditionalEdge) return true;
+        if ((edge0 instanceof ConditionalEdge) || (edge1 instanceof ConditionalEdge))
             throw new RuntimeException("Node must not have mixed edges");
         return false;
     }
@@ -285,14 +286,18 @@ public class Node {
      */
     public ConditionalEdge getConditionalEdge(boolean trueFalse) {
         if (!isBranch()) throw new RuntimeException("Node must be a branch");
-        Iterator<Edge> iter = outEdges.iterator();
-        Edge edge = iter.next();
-        if (!trueFalse) edge = iter.next();
-        return (ConditionalEdge) edge;
+        return (ConditionalEdge) outEdges.get(trueFalse ? 0 : 1);
     }
 
     public String getId() {
-        return id;
+        return Integer.toString(index, 26);
+    }
+
+    /**
+     * Returns the index of this node, which is unique within its graph and smaller than Graph#getIndexBound().
+     */
+    public int getIndex() {
+        return index;
     }
 
     public int getInitialPc() {
@@ -318,10 +323,8 @@ public class Node {
     }
     
     public boolean hasSelfEdges() {
-        Iterator iter = outEdges.iterator();
-        while (iter.hasNext()) {
-            Edge edge = (Edge) iter.next();
-            if (edge.target == this) return true;
+        for (int i=0; i<outEdges.size(); i++) {
+            if (outEdges.get(i).target == this) return true;
         }
         return false;
     }
@@ -4,6 +4,7 @@ import java.util.Iterator;
 import java.util.Set;
 
 import com.j2js.cfg.Edge;
+import com.j2js.cfg.Node;
 import com.j2js.dom.Block;
 import com.j2js.dom.BooleanLiteral;
 import com.j2js.dom.WhileStatement;
@@ -13,8 +14,8 @@ public class Loop extends Transformation {
     
     private Set selfEdges;
     
-    public boolean applies_() {
-        return header.hasSelfEdges();
+    static Transformation match(Node header) {
+        return header.hasSelfEdges() ? new Loop() : null;
     }
     
     public void apply_() {
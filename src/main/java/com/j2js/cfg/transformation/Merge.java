@@ -1,12 +1,10 @@
 package com.j2js.cfg.transformation;
 
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
 import com.j2js.cfg.ControlFlowGraph;
 import com.j2js.cfg.Edge;
-import com.j2js.cfg.EdgeCollections;
 import com.j2js.cfg.Node;
 import com.j2js.dom.Block;
 
@@ -25,18 +23,30 @@ public class Merge extends Transformation {
         graph = theGraph;
     }
     
-    public boolean applies_() {
-        HashSet<Node> headerSet = new HashSet<Node>();
-        headerSet.add(header);
-        
+    private Merge(Node theTail) {
+        tail = theTail;
+    }
+    
+    /**
+     * Applies if a dom child of the header is entered only from the header.
+     */
+    static Transformation match(Node header) {
         for (Node child : header.getDomChildren()) {
-            if (EdgeCollections.getSources(child.getInEdges()).equals(headerSet)) {
-                tail = child;
-                return true;
+            if (isEnteredOnlyFrom(child, header)) {
+                return new Merge(child);
             }
         }
         
-        return false;
+        return null;
+    }
+    
+    private static boolean isEnteredOnlyFrom(Node node, Node source) {
+        Set<Edge> inEdges = node.getInEdges();
+        if (inEdges.isEmpty()) return false;
+        for (Edge edge : inEdges) {
+            if (edge.source != source) return false;
+        }
+        return true;
     }
 
     public void apply_() {
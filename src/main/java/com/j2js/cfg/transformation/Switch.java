@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.apache.bcel.generic.Type;
 
+import com.j2js.ClassHeader;
 import com.j2js.cfg.Edge;
 import com.j2js.cfg.Node;
 import com.j2js.cfg.SwitchEdge;
@@ -29,8 +30,8 @@ public class Switch extends Transformation {
 	public Switch() {
 	}
 
-	public boolean applies_() {
-		return header.isSwitchHeader;
+	static Transformation match(Node header) {
+		return header.isSwitchHeader ? new Switch() : null;
 	}
 
 	private void removeFallThroughEdgesl() {
@@ -55,14 +56,26 @@ public class Switch extends Transformation {
 	void apply_() {
 		removeFallThroughEdgesl();
 
+		// Out edges of the previous case group.
+		List<Edge> previousOutEdges = new ArrayList<Edge>();
 		for (Edge e : new ArrayList<Edge>(header.getOutEdges())) {
 			if (!(e instanceof SwitchEdge))
 				continue;
 
 			SwitchEdge edge = (SwitchEdge) e;
 			Node caseGroup = edge.target;
+			for (Edge in : caseGroup.getInEdges()) {
+				// Control falls through from the previous case group. A jump
+				// from any other case group would get lost when this group is
+				// removed.
+				if (in.source != header && !previousOutEdges.contains(in)) {
+					throw new RuntimeException("Could not reduce switch at " + header + ", jump into case group "
+							+ caseGroup);
+				}
+			}
 			caseGroups.add(caseGroup);
 			caseGroupExpressions.add(edge.expressions);
+			previousOutEdges = new ArrayList<Edge>(caseGroup.getOutEdges());
 			graph.rerootOutEdges(caseGroup, newNode, true);
 			graph.removeOutEdges(caseGroup);
 			graph.removeInEdges(caseGroup);
@@ -83,9 +96,9 @@ public class Switch extends Transformation {
 				Expression expression = field.getExpression();
 				Type typeBinding = expression.getTypeBinding();
 				String name = TypeUtils.extractClassName(typeBinding.toString());
-				Class<?> cls = getEnumClass(name);
-				if (cls != null && cls.isEnum()) {
-					switchStmt.setEnumCls(cls);
+				ClassHeader enumHeader = project.getClassHeader(name);
+				if (enumHeader != null && enumHeader.isEnum()) {
+					switchStmt.setEnumConstants(enumHeader.getEnumConstants());
 					isEnum = true;
 					switchStmt.setExpression(expression);
 				}
@@ -99,8 +112,7 @@ public class Switch extends Transformation {
 				List<StringLiteral> cases = new ArrayList<>();
 				list.forEach(l -> {
 					int ordinal = (int) l.getValue();
-					StringLiteral lit = new StringLiteral(
-							switchStmt.getEnumCls().getEnumConstants()[ordinal - 1].toString());
+					StringLiteral lit = new StringLiteral(switchStmt.getEnumConstants().get(ordinal - 1));
 					cases.add(lit);
 				});
 				switchCase.setExpressions(cases);
@@ -115,15 +127,6 @@ public class Switch extends Transformation {
 		block.appendChild(switchStmt);
 	}
 
-	private Class<?> getEnumClass(String type) {
-		try {
-			return project.fileManager.getClassLoader().loadClass(type);
-		} catch (ClassNotFoundException e) {
-			e.printStackTrace();
-			return null;
-		}
-	}
-
 	public String toString() {
 		String s = super.toString() + "(" + header;
 		for (int i = 0; i < caseGroups.size(); i++) {
@@ -19,47 +19,79 @@ public abstract class Transformation {
 
 	protected Project project;
 
-	static Class[] transformations = new Class[] { Switch.class, Try.class,
-			// If.class,
-			// IfElse.class,
-			Loop.class,
-			// Merge must be applied after Loop.
-			Merge.class };
-
-	public static Transformation select(Project project, Graph graph, Node node) {
-
-		for (int i = 0; i < transformations.length; i++) {
-			Transformation t = fetch(project, i);
-			if (t.applies(node)) {
-				return t;
-			}
-		}
+	/**
+	 * Tests whether a transformation applies to a header node. Matchers have no
+	 * state and allocate nothing unless the transformation applies, in which
+	 * case they return a new instance of it.
+	 */
+	interface Matcher {
+		Transformation match(Node header);
+	}
 
-		return null;
+	/**
+	 * The kinds of transformations, in the order in which they are tested.
+	 */
+	enum Kind {
+		SWITCH("Switch", Switch::match),
+		TRY("Try", Try::match),
+		// If.class,
+		// IfElse.class,
+		LOOP("Loop", Loop::match),
+		// Merge must be applied after Loop.
+		MERGE("Merge", Merge::match);
+
+		final String label;
+
+		final Matcher matcher;
+
+		private Kind(String label, Matcher matcher) {
+			this.label = label;
+			this.matcher = matcher;
+		}
 	}
 
-	static Transformation fetch(Project project, int index) {
-		Transformation t = null;
-		try {
-			t = (Transformation) transformations[index].newInstance();
-			t.project = project;
-		} catch (InstantiationException e) {
-			throw new RuntimeException(e);
-		} catch (IllegalAccessException e) {
-			throw new RuntimeException(e);
+	// Kind.values() copies the array on each call.
+	static final Kind[] kinds = Kind.values();
+
+	/**
+	 * Returns the first transformation which applies to the specified node,
+	 * or null if there is none.
+	 * 
+	 * @param stats
+	 *            (optional) the counters to update, fetched once per graph
+	 */
+	public static Transformation select(Project project, TransformationStats stats, Graph graph, Node node) {
+		for (Kind kind : kinds) {
+			if (stats != null) {
+				stats.tested(kind);
+			}
+			Transformation t = kind.matcher.match(node);
+			if (t != null) {
+				t.project = project;
+				t.graph = (ControlFlowGraph) graph;
+				t.header = node;
+				t.kind = kind;
+				t.stats = stats;
+				return t;
+			}
 		}
 
-		return t;
+		return null;
 	}
 
 	ControlFlowGraph graph;
 	public Node header;
 	Node newNode;
 
+	private Kind kind;
+
+	private TransformationStats stats;
+
 	public Transformation() {
 	}
 
 	public Node apply() {
+		long start = System.nanoTime();
 		newNode = graph.createNode(Node.class);
 		newNode.setInitialPc(header.getInitialPc());
 		newNode.trans = this;
@@ -69,17 +101,12 @@ public abstract class Transformation {
 		graph.replaceNode(header, newNode);
 
 		Log.getLogger().debug(toString() + " -> " + newNode);
+		if (stats != null) {
+			stats.applied(kind, System.nanoTime() - start);
+		}
 		return newNode;
 	}
 
-	public boolean applies(Node node) {
-		graph = (ControlFlowGraph) node.getGraph();
-		header = node;
-		return applies_();
-	}
-
-	abstract boolean applies_();
-
 	abstract void apply_();
 
 	abstract void rollOut_(Block block);
@@ -107,9 +134,9 @@ public abstract class Transformation {
 		}
 
 		if (edge.isBackEdge()) {
-			breakBlock.appendChild(new ContinueStatement(labeledBlock));
+			breakBlock.appendChild(new ContinueStatement(graph.labeled(labeledBlock)));
 		} else {
-			breakBlock.appendChild(new BreakStatement(labeledBlock));
+			breakBlock.appendChild(new BreakStatement(graph.labeled(labeledBlock)));
 		}
 	}
 
@@ -0,0 +1,79 @@
+package com.j2js.cfg.transformation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts for each type of transformation how often it was tested and applied
+ * during graph reduction, and the time spent applying it. The counters may be
+ * updated by several threads.
+ */
+public class TransformationStats {
+
+	private LongAdder[] tested = adders();
+
+	private LongAdder[] applied = adders();
+
+	private LongAdder[] nanos = adders();
+
+	private static LongAdder[] adders() {
+		LongAdder[] adders = new LongAdder[Transformation.kinds.length];
+		for (int i = 0; i < adders.length; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	void tested(Transformation.Kind kind) {
+		tested[kind.ordinal()].increment();
+	}
+
+	void applied(Transformation.Kind kind, long duration) {
+		applied[kind.ordinal()].increment();
+		nanos[kind.ordinal()].add(duration);
+	}
+
+	/**
+	 * @return how often the transformation with the specified name was tested
+	 */
+	public long getTested(String name) {
+		return tested[indexOf(name)].sum();
+	}
+
+	/**
+	 * @return how often the transformation with the specified name was applied
+	 */
+	public long getApplied(String name) {
+		return applied[indexOf(name)].sum();
+	}
+
+	/**
+	 * @return the time spent applying the transformation with the specified
+	 *         name in nanoseconds
+	 */
+	public long getNanos(String name) {
+		return nanos[indexOf(name)].sum();
+	}
+
+	private static int indexOf(String name) {
+		for (Transformation.Kind kind : Transformation.kinds) {
+			if (kind.label.equals(name)) {
+				return kind.ordinal();
+			}
+		}
+		throw new RuntimeException("Unknown transformation " + name);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Transformation.Kind kind : Transformation.kinds) {
+			int i = kind.ordinal();
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(kind.label).append(' ').append(applied[i].sum()).append('/')
+					.append(tested[i].sum()).append(" (").append(nanos[i].sum() / 1000000).append(" ms)");
+		}
+		return sb.toString();
+	}
+}
@@ -15,8 +15,8 @@ public class Try extends Transformation {
     private List catchNodes;
     private Node finallyNode;
     
-    boolean applies_() {
-        return header instanceof TryHeaderNode;
+    static Transformation match(Node header) {
+        return header instanceof TryHeaderNode ? new Try() : null;
     }
 
     void apply_() {
@@ -11,8 +11,6 @@ import org.w3c.dom.DOMException;
  */
 public class Block extends ASTNode {
     
-	public static int TAG = 0;
-	
     private String label;
     
     private ASTNode firstChild = null;
@@ -349,8 +347,4 @@ public class Block extends ASTNode {
         return label != null;
     }
 
-    public String setLabeled() {
-        if (label == null) label = "L" + (++TAG);
-        return label;
-    }
 }
@@ -20,6 +20,12 @@ public class ClassInstanceCreation extends MethodInvocation {
 		super(methodDecl);
 	}
 
+	public ClassInstanceCreation(MethodDeclaration methodDecl, ObjectType theType) {
+		super(methodDecl);
+		this.theType = theType;
+		type = theType;
+	}
+
 	public void visit(AbstractVisitor visitor) {
 		visitor.visit(this);
 	}
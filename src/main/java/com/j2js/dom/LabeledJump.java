@@ -11,7 +11,7 @@ abstract public class LabeledJump extends Jump {
     
     public LabeledJump(Block block) {
         super();
-        label = block.setLabeled();
+        label = block.getLabel();
     }
 
     public String getLabel() {
@@ -4,7 +4,6 @@
  */
 package com.j2js.dom;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.bcel.Constants;
@@ -15,46 +14,48 @@ import org.apache.bcel.generic.ObjectType;
 import org.apache.bcel.generic.Type;
 
 import com.j2js.Utils;
+import com.j2js.assembly.Project;
 
 /**
  * @author kuehn
  */
 public class MethodBinding {
 
-	private static Map<String, MethodBinding> methodBindingsByKey = new HashMap<String, MethodBinding>();
-
-	public static MethodBinding lookup(int index, ConstantPool constantPool) {
+	public static MethodBinding lookup(Project project, int index, ConstantPool constantPool) {
 		ConstantCP methodRef = (ConstantCP) constantPool.getConstant(index);
-		return lookup(methodRef, constantPool);
+		return lookup(project, methodRef, constantPool);
 	}
 
-	public static MethodBinding lookup(ConstantCP methodRef, ConstantPool constantPool) {
+	public static MethodBinding lookup(Project project, ConstantCP methodRef, ConstantPool constantPool) {
 		ConstantNameAndType nameAndType = (ConstantNameAndType) constantPool
 				.getConstant(methodRef.getNameAndTypeIndex(), Constants.CONSTANT_NameAndType);
 
 		String name = nameAndType.getName(constantPool);
 		String signature = nameAndType.getSignature(constantPool);
 
-		return lookup(methodRef.getClass(constantPool), name, signature);
+		return lookup(project, methodRef.getClass(constantPool), name, signature);
 	}
 
-	public static MethodBinding lookup(String className, String name, String signature) {
+	public static MethodBinding lookup(Project project, String className, String name, String signature) {
 		String key = className + "#" + name + signature;
+		Map<String, MethodBinding> methodBindingsByKey = project.getContext().getMethodBindings();
 
-		MethodBinding binding = methodBindingsByKey.get(key);
-		if (binding != null)
-			return binding;
+		synchronized (methodBindingsByKey) {
+			MethodBinding binding = methodBindingsByKey.get(key);
+			if (binding != null)
+				return binding;
 
-		binding = new MethodBinding();
-		binding.declaringClass = new ObjectType(className);
-		binding.name = name;
-		binding.parameterTypes = Type.getArgumentTypes(signature);
-		binding.returnType = Type.getReturnType(signature);
-		binding.signature = signature;
+			binding = new MethodBinding();
+			binding.declaringClass = new ObjectType(className);
+			binding.name = name;
+			binding.parameterTypes = Type.getArgumentTypes(signature);
+			binding.returnType = Type.getReturnType(signature);
+			binding.signature = signature;
 
-		methodBindingsByKey.put(key, binding);
+			methodBindingsByKey.put(key, binding);
 
-		return binding;
+			return binding;
+		}
 	}
 
 	private ObjectType declaringClass;
@@ -30,6 +30,15 @@ public class MethodDeclaration extends ASTNode {
 
 	public boolean visited;
 
+	// Key of this method in the method cache, if any.
+	private String cacheKey;
+
+	// Decompiles the body on first access, see #setDeferredBody(Runnable).
+	private volatile Runnable deferredBody;
+
+	// True while the deferred body is decompiled.
+	private boolean parsing;
+
 	public MethodDeclaration(Project project, MethodBinding theMethodBinding, int theAccessFlags, Code theCode) {
 		methodBinding = theMethodBinding;
 		accessFlags = theAccessFlags;
@@ -54,6 +63,7 @@ public class MethodDeclaration extends ASTNode {
 	 * @return Returns the block.
 	 */
 	public Block getBody() {
+		parseDeferredBody();
 		return block;
 	}
 
@@ -66,6 +76,53 @@ public class MethodDeclaration extends ASTNode {
 		theBlock.setParentNode(this);
 	}
 
+	public String getCacheKey() {
+		return cacheKey;
+	}
+
+	public void setCacheKey(String cacheKey) {
+		this.cacheKey = cacheKey;
+	}
+
+	/**
+	 * Sets the task which decompiles the body of this method. It is run once,
+	 * when the body or the local variables are first accessed.
+	 */
+	public void setDeferredBody(Runnable deferredBody) {
+		this.deferredBody = deferredBody;
+	}
+
+	/**
+	 * Decompiles the body of this method if that was deferred. Other threads
+	 * accessing the body wait until it is decompiled.
+	 */
+	public void parseDeferredBody() {
+		if (deferredBody == null) {
+			return;
+		}
+		synchronized (this) {
+			Runnable r = deferredBody;
+			// The decompiler itself accesses the body.
+			if (r == null || parsing) {
+				return;
+			}
+			parsing = true;
+			try {
+				r.run();
+			} finally {
+				parsing = false;
+				deferredBody = null;
+			}
+		}
+	}
+
+	/**
+	 * @return true if the body of this method is not yet decompiled
+	 */
+	public boolean isBodyDeferred() {
+		return deferredBody != null;
+	}
+
 	public VariableBinding createVariableBinding(String name, Type type, boolean isWrite) {
 		if (type == null)
 			throw new NullPointerException();
@@ -95,6 +152,19 @@ public class MethodDeclaration extends ASTNode {
 		return vb;
 	}
 
+	/**
+	 * Declares a local variable with a new name. Other than
+	 * {@link #createAnonymousVariableBinding(Type, boolean)}, no binding to it
+	 * is created.
+	 */
+	public VariableDeclaration createAnonymousVariableDeclaration(Type type) {
+		VariableDeclaration decl = new VariableDeclaration(false);
+		decl.setName(tempPrefix + (vbCount++));
+		decl.setType(type);
+		addLocalVariable(decl);
+		return decl;
+	}
+
 	public void addParameter(VariableDeclaration variableDecl) {
 		parameters.put(variableDecl.getName(), variableDecl);
 	}
@@ -116,6 +186,7 @@ public class MethodDeclaration extends ASTNode {
 	}
 
 	public Collection<VariableDeclaration> getLocalVariables() {
+		parseDeferredBody();
 		return localVariables.values();
 	}
 
@@ -3,6 +3,8 @@
  */
 package com.j2js.dom;
 
+import java.util.List;
+
 import com.j2js.visitors.AbstractVisitor;
 
 /**
@@ -12,18 +14,19 @@ public class SwitchStatement extends Block {
 
 	private Expression expression;
 
-	private Class<?> enumCls;
+	// Names of the constants if the switch is on an enum, by ordinal.
+	private List<String> enumConstants;
 
 	public SwitchStatement() {
 		super();
 	}
 
-	public void setEnumCls(Class<?> enumCls) {
-		this.enumCls = enumCls;
+	public void setEnumConstants(List<String> enumConstants) {
+		this.enumConstants = enumConstants;
 	}
 
-	public Class<?> getEnumCls() {
-		return enumCls;
+	public List<String> getEnumConstants() {
+		return enumConstants;
 	}
 
 	public void visit(AbstractVisitor visitor) {
@@ -1,5 +1,8 @@
 package com.j2js.dom;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 import org.apache.bcel.generic.Type;
 
 import com.j2js.visitors.AbstractVisitor;
@@ -15,6 +18,8 @@ public class ThisExpression extends VariableBinding {
         vd = new VariableDeclaration(VariableDeclaration.NON_LOCAL);
         vd.setName("this");
         vd.setType(Type.OBJECT);
+        // Shared by all methods, which may be parsed on different threads.
+        vd.vbs = Collections.synchronizedList(new ArrayList<VariableBinding>());
     }
     
     public ThisExpression() {
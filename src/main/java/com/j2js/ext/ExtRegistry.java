@@ -10,19 +10,18 @@ import com.j2js.ts.TypeScriptGenerator;
 
 public class ExtRegistry {
 
-	private static ExtRegistry INS;
-
 	private Map<String, ExtInvocationList> points = new HashMap<>();
 
 	private ExtRegistry() {
 	}
 
-	public static ExtRegistry get() {
-		if (INS == null) {
-			INS = new ExtRegistry();
-			J2TSExtRegistry.register();
-		}
-		return INS;
+	/**
+	 * Creates a registry with the default TypeScript extensions.
+	 */
+	public static ExtRegistry create() {
+		ExtRegistry r = new ExtRegistry();
+		J2TSExtRegistry.register(r);
+		return r;
 	}
 
 	public <I> void add(String point, ExtInvocation<?> invoke) {
@@ -38,7 +37,7 @@ public class ExtRegistry {
 		list.add(invoke, order);
 	}
 
-	public static ExtInvoker createInvoker(Project project, J2TSCompiler compiler, TypeScriptGenerator generator) {
-		return new ExtInvoker(get().points, project, compiler, generator);
+	public ExtInvoker createInvoker(Project project, J2TSCompiler compiler, TypeScriptGenerator generator) {
+		return new ExtInvoker(points, project, compiler, generator);
 	}
 }
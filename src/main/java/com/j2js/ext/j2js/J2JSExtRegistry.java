@@ -24,14 +24,7 @@ import com.j2js.ts.VisitorInput;
 
 public class J2JSExtRegistry {
 
-	private static boolean registered;
-
-	public static void register() {
-		if (registered) {
-			return;
-		}
-		registered = true;
-		ExtRegistry r = ExtRegistry.get();
+	public static void register(ExtRegistry r) {
 
 		r.add("file.create", new ExtInvocation<Object>() {
 
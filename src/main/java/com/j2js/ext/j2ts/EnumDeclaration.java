@@ -5,6 +5,8 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.j2js.ClassHeader;
+import com.j2js.Log;
 import com.j2js.assembly.Project;
 import com.j2js.ext.ExtChain;
 import com.j2js.ext.ExtInvocation;
@@ -39,24 +41,24 @@ public class EnumDeclaration implements ExtInvocation<TypeContext> {
 
 	private MethodContext prepareMethod(Project project, TypeContext input) {
 		String enums;
-		try {
-			Class<?> cls = project.fileManager.getClassLoader().loadClass(input.getType().getClassName());
+		ClassHeader header = project.getClassHeader(input.getType().getClassName());
+		if (header != null) {
 			StringBuilder b = new StringBuilder("[");
-			Enum<?>[] enumConstants = (Enum<?>[]) cls.getEnumConstants();
-			if (enumConstants.length > 1) {
+			List<String> enumConstants = header.getEnumConstants();
+			if (enumConstants.size() > 1) {
 				b.append('\'');
-				b.append(enumConstants[0].name());
+				b.append(enumConstants.get(0));
 				b.append('\'');
-				for (int i = 1; i < enumConstants.length; i++) {
+				for (int i = 1; i < enumConstants.size(); i++) {
 					b.append(", '");
-					b.append(enumConstants[i].name());
+					b.append(enumConstants.get(i));
 					b.append('\'');
 				}
 			}
 			b.append("]");
 			enums = b.toString();
-		} catch (ClassNotFoundException e) {
-			e.printStackTrace();
+		} else {
+			Log.getLogger().error("Cannot find enum " + input.getType().getClassName());
 			enums = "[]";
 		}
 
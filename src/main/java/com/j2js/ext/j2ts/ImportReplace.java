@@ -1,8 +1,6 @@
 package com.j2js.ext.j2ts;
 
 import java.io.PrintStream;
-import java.util.HashMap;
-import java.util.Map;
 
 import com.j2js.ext.ExtChain;
 import com.j2js.ext.ExtInvocation;
@@ -10,11 +8,9 @@ import com.j2js.ts.TSHelper;
 
 public class ImportReplace implements ExtInvocation<String> {
 
-	public static Map<String, String> imports = new HashMap<>();
-
 	@Override
 	public void invoke(PrintStream ps, String input, ExtChain ch) {
-		String val = imports.get(input);
+		String val = ch.getProject().getContext().getImports().get(input);
 		if (val != null) {
 			ch.next(ps, val);
 		} else {
@@ -3,11 +3,9 @@ package com.j2js.ext.j2ts;
 import java.io.PrintStream;
 import java.lang.reflect.Modifier;
 
-import com.j2js.Parser;
 import com.j2js.assembly.ClassUnit;
 import com.j2js.dom.MethodDeclaration;
 import com.j2js.dom.MethodInvocation;
-import com.j2js.dom.TypeDeclaration;
 import com.j2js.dom.VariableDeclaration;
 import com.j2js.ext.ExtChain;
 import com.j2js.ext.ExtInvocation;
@@ -19,8 +17,7 @@ import com.j2js.ts.VisitorInput;
 
 public class J2TSExtRegistry {
 
-	public static void register() {
-		ExtRegistry r = ExtRegistry.get();
+	public static void register(ExtRegistry r) {
 
 		r.add("imports", new EnumImports());
 		r.add("imports", new Imports());
@@ -56,15 +53,14 @@ public class J2TSExtRegistry {
 			@Override
 			public void invoke(PrintStream ps, VisitorInput<ClassUnit> input, ExtChain ch) {
 				ClassUnit classUnit = input.getInput();
-				if (classUnit.typeDecl != null) {
-					return;
+				// The type is already parsed if the project is reused, see
+				// J2TSCompiler.recompile(..).
+				if (classUnit.typeDecl == null) {
+					classUnit.typeDecl = ch.getCompiler().parse(classUnit);
 				}
-				Parser parser = new Parser(ch.getProject(), classUnit);
-				TypeDeclaration typeDecl = parser.parse();
-				classUnit.typeDecl = typeDecl;
 
 				TypeScriptGenerator visitor = input.getGenerator();
-				visitor.visit(typeDecl, classUnit.isPartial());
+				visitor.visit(classUnit.typeDecl, classUnit.isPartial());
 			}
 		});
 
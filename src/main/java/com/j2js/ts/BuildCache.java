@@ -0,0 +1,198 @@
+package com.j2js.ts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.j2js.FileManager;
+import com.j2js.Log;
+
+/**
+ * Records the content hashes of the class files compiled by a run of
+ * {@link J2TSCompiler} together with the files it wrote. If neither the class
+ * files nor the compiler input changed, the output of that run is still valid.
+ * <p>
+ * For each output file, the cache also records the classes generated into it,
+ * the classes it depends on and the side effects of its generation. The next
+ * run only generates the files for which one of these classes changed, and
+ * replays the side effects of all others, like {@link MethodCache} does for
+ * single methods.
+ * </p>
+ */
+class BuildCache implements Serializable {
+
+	static final long serialVersionUID = 2;
+
+	// Describes the compiler input, see J2TSCompiler#getCacheKey().
+	private String key;
+
+	// Content hash by class name, empty if the class file does not exist.
+	private Map<String, String> hashes = new HashMap<>();
+
+	private List<String> outputs = new ArrayList<>();
+
+	// Output file by top level class name.
+	private Map<String, Entry> entries = new HashMap<>();
+
+	BuildCache(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * Records the current content hash of the specified class.
+	 */
+	void addClass(String className, FileManager fileManager) {
+		if (!className.startsWith("[") && !hashes.containsKey(className)) {
+			hashes.put(className, getContentHash(className, fileManager));
+		}
+	}
+
+	void addOutput(File file) {
+		outputs.add(file.getAbsolutePath());
+	}
+
+	void addEntry(String topLevelClass, Entry entry, FileManager fileManager) {
+		entries.put(topLevelClass, entry);
+		for (String className : entry.classes) {
+			addClass(className, fileManager);
+		}
+		for (String className : entry.dependencies) {
+			addClass(className, fileManager);
+		}
+	}
+
+	Map<String, Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Returns true if a compilation with the specified key would produce the
+	 * recorded output.
+	 */
+	boolean isUpToDate(String currentKey, FileManager fileManager) {
+		if (!key.equals(currentKey)) {
+			return false;
+		}
+		for (String output : outputs) {
+			if (!new File(output).exists()) {
+				return false;
+			}
+		}
+		return getChangedClasses(fileManager).isEmpty();
+	}
+
+	/**
+	 * Returns the entries of the output files which a compilation with the
+	 * specified key would generate with the same content, by top level class
+	 * name.
+	 */
+	Map<String, Entry> getValidEntries(String currentKey, FileManager fileManager) {
+		Map<String, Entry> valid = new HashMap<>();
+		if (!key.equals(currentKey)) {
+			return valid;
+		}
+		Set<String> changed = getChangedClasses(fileManager);
+		for (Map.Entry<String, Entry> e : entries.entrySet()) {
+			Entry entry = e.getValue();
+			if (new File(entry.output).exists() && !intersects(entry.classes, changed)
+					&& !intersects(entry.dependencies, changed)) {
+				valid.put(e.getKey(), entry);
+			}
+		}
+		return valid;
+	}
+
+	private Set<String> getChangedClasses(FileManager fileManager) {
+		Set<String> changed = new HashSet<>();
+		for (Map.Entry<String, String> entry : hashes.entrySet()) {
+			if (!entry.getValue().equals(getContentHash(entry.getKey(), fileManager))) {
+				Log.getLogger().debug("Changed: " + entry.getKey());
+				changed.add(entry.getKey());
+			}
+		}
+		return changed;
+	}
+
+	private static boolean intersects(Set<String> a, Set<String> b) {
+		for (String s : a) {
+			if (b.contains(s)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String getContentHash(String className, FileManager fileManager) {
+		try {
+			return fileManager.getFileForInput(className.replace('.', '/') + ".class").getContentHash();
+		} catch (RuntimeException e) {
+			// Class file is not on the class path.
+			return "";
+		}
+	}
+
+	static BuildCache read(File file) {
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			return (BuildCache) in.readObject();
+		} catch (Exception e) {
+			Log.getLogger().warn("Ignoring unreadable cache " + file + ": " + e);
+			return null;
+		}
+	}
+
+	void write(File file) throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeObject(this);
+		}
+	}
+
+	/**
+	 * The output file of a top level class and its nested classes.
+	 */
+	static class Entry implements Serializable {
+
+		static final long serialVersionUID = 1;
+
+		static final String CLASS = "class";
+		static final String ACCESSOR = "accessor";
+
+		String output;
+
+		// The classes generated into the file.
+		Set<String> classes = new HashSet<>();
+
+		// Classes besides its own on which the content of the file depends.
+		Set<String> dependencies = new HashSet<>();
+
+		// The side effects of each compile step and queued class or member
+		// which generated into the file, by step. A file generated by the same
+		// steps as recorded has the same content.
+		Map<String, List<String[]>> steps = new LinkedHashMap<>();
+
+		List<String[]> add(String step) {
+			List<String[]> ops = steps.get(step);
+			if (ops == null) {
+				ops = new ArrayList<>();
+				steps.put(step, ops);
+			}
+			return ops;
+		}
+	}
+}
@@ -1,29 +1,69 @@
 package com.j2js.ts;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.bcel.classfile.Constant;
+import org.apache.bcel.classfile.ConstantClass;
+import org.apache.bcel.classfile.ConstantPool;
+import org.apache.bcel.classfile.JavaClass;
 import org.apache.bcel.generic.ObjectType;
 import org.apache.bcel.generic.Type;
 
+import com.j2js.ClassCache;
+import com.j2js.ClassHeader;
+import com.j2js.CompilationContext;
 import com.j2js.FileManager;
 import com.j2js.J2JSSettings;
 import com.j2js.Log;
+import com.j2js.Parser;
 import com.j2js.Utils;
 import com.j2js.assembly.ClassUnit;
+import com.j2js.assembly.DependencyIndex;
 import com.j2js.assembly.MemberUnit;
 import com.j2js.assembly.Project;
 import com.j2js.dom.MethodDeclaration;
 import com.j2js.dom.TypeDeclaration;
 import com.j2js.ext.ExtInvoker;
-import com.j2js.ext.ExtRegistry;
 
 public class J2TSCompiler {
 
-	private List<String> classes = new ArrayList<>();
+	// Classes and members still to compile, see #addClass(String, int).
+	private PriorityQueue<Work> queue = new PriorityQueue<>();
+
+	// Every class or member queued by this run, so that each is queued once.
+	private Set<String> queued = new HashSet<>();
+
+	private long sequence;
+
+	// True while the queue is processed.
+	private boolean generating;
+
+	// The classes requested for the next execution.
+	private Set<String> classes = new LinkedHashSet<>();
+
+	// The classes requested for the last execution.
+	private List<String> rootClasses;
 
 	private FileManager fileManager;
 
@@ -41,43 +81,668 @@ public class J2TSCompiler {
 
 	public J2JSSettings settings;
 
+	private CompilationContext context;
+
+	private ExecutorService workers;
+
+	private ConcurrentMap<String, FutureTask<TypeDeclaration>> parseTasks = new ConcurrentHashMap<>();
+
+	// Classes speculatively loaded, see J2JSSettings#prefetchReferences.
+	private Set<String> speculated = ConcurrentHashMap.newKeySet();
+
+	private File cacheFile;
+
+	private BuildCache cache;
+
+	// Entries of the previous run whose output files need not be generated
+	// again, by top level class name.
+	private Map<String, BuildCache.Entry> reusable = new HashMap<>();
+
+	// Entries recorded by the current pass, by top level class name.
+	private Map<String, BuildCache.Entry> recorded = new HashMap<>();
+
+	// Receives the side effects of the current step, see #startStep(..).
+	private List<String[]> recording;
+
+	private File methodCacheFile;
+
+	private ClassCache classCache;
+
+	// Duration of each phase of the last execution in milliseconds.
+	private Map<String, Long> timings = new LinkedHashMap<>();
+
+	// The files written by the last execution.
+	private List<File> outputs = new ArrayList<>();
+
 	public J2TSCompiler() {
 		this.classLoader = getClass().getClassLoader();
 		this.settings = new J2JSSettings();
-		Log.logger = new Log();
+		this.context = new CompilationContext();
+	}
+
+	/**
+	 * @return the state of this compilation, for example the extension
+	 *         registry and the logger
+	 */
+	public CompilationContext getContext() {
+		return context;
 	}
 
 	public void setClassLoader(ClassLoader classLoader) {
 		this.classLoader = classLoader;
 	}
 
-	public void addClass(String cls, boolean process) {
-		if (!this.classes.contains(cls)) {
-			this.classes.add(cls);
+	/**
+	 * Requests the specified class or member (<code>class#signature</code>)
+	 * to be compiled.
+	 */
+	public void addClass(String cls) {
+		if (generating) {
+			addClass(cls, Work.NORMAL);
+		} else {
+			classes.add(cls);
+		}
+	}
+
+	private void addClass(String cls, int priority) {
+		if (recording != null) {
+			recording.add(new String[] { BuildCache.Entry.CLASS, cls, Integer.toString(priority) });
 		}
-		if (process) {
-			process((TypeScriptGenerator) project.generator, cls);
+		if (queued.add(cls)) {
+			queue.add(new Work(cls, priority, sequence++));
+			prefetch(cls.split("#")[0]);
 		}
+	}
 
+	/**
+	 * Returns the parsed type of the specified class and queues it with high
+	 * priority. Used by the generator if it needs the type of a class which
+	 * was not yet compiled, for example the outer class of a nested class.
+	 * The class is not compiled re-entrantly.
+	 * 
+	 * @return the type or null if the class is excluded or cannot be parsed
+	 */
+	public TypeDeclaration require(String fqn) {
+		if (!settings.allowClass.test(fqn)) {
+			return null;
+		}
+		addClass(fqn, Work.REQUIRED);
+		return getTypeDeclaration(fqn);
 	}
 
-	public void addClass(String cls) {
-		this.addClass(cls, false);
+	private TypeDeclaration getTypeDeclaration(String fqn) {
+		ClassUnit unit = project.getOrCreateClassUnit(fqn);
+		if (unit.typeDecl == null) {
+			try {
+				unit.typeDecl = parse(unit);
+			} catch (RuntimeException e) {
+				// Reported when the class is compiled.
+				return null;
+			}
+		}
+		return unit.typeDecl;
 	}
 
 	public void execute() throws Exception {
-		project = new Project(settings);
+		CompilationContext previous = CompilationContext.enter(context);
+		try {
+			doExecute();
+		} finally {
+			CompilationContext.exit(previous);
+		}
+	}
+
+	private void doExecute() throws Exception {
+		timings.clear();
+		outputs = new ArrayList<>();
+		long start = System.nanoTime();
+		project = new Project(settings, context);
 		this.fileManager = new FileManager(project, classpath, classLoader);
-		TypeScriptGenerator visitor = new TypeScriptGenerator(project, this);
-		project.generator = visitor;
 		project.fileManager = fileManager;
-		invoker = ExtRegistry.createInvoker(project, this, visitor);
+		if (classCache != null) {
+			project.setClassCache(classCache);
+		}
+		rootClasses = new ArrayList<>(classes);
+		classes.clear();
+
+		String cacheKey = getCacheKey();
+		reusable = new HashMap<>();
+		if (cacheFile != null && cacheFile.exists()) {
+			BuildCache previous = BuildCache.read(cacheFile);
+			if (previous != null && previous.isUpToDate(cacheKey, fileManager)) {
+				Log.getLogger().info("Output is up to date");
+				time("setup", start);
+				return;
+			}
+			if (previous != null && !settings.singleFile) {
+				reusable = previous.getValidEntries(cacheKey, fileManager);
+				Log.getLogger().info(reusable.size() + " of " + previous.getEntries().size() + " files are up to date");
+			}
+		}
+		cache = cacheFile != null ? new BuildCache(cacheKey) : null;
+		if (methodCacheFile != null) {
+			project.methodCache = MethodCache.read(methodCacheFile);
+		}
+		time("setup", start);
+
+		List<File> files = generate();
+		logStatistics();
+		start = System.nanoTime();
+		writeMethodCache();
+
+		if (cacheFile != null) {
+			files.forEach(cache::addOutput);
+			if (settings.errorCount == 0) {
+				cache.write(cacheFile);
+			} else if (cacheFile.exists()) {
+				cacheFile.delete();
+			}
+		}
+		time("cache", start);
+	}
+
+	/**
+	 * Compiles the requested classes of the last execution again, keeping the
+	 * project and all parsed types. Only the specified classes, their nested
+	 * classes and their dependents (see DependencyIndex) are parsed again.
+	 * 
+	 * @param changedClasses
+	 *            fully qualified names of the classes whose class file changed
+	 */
+	public void recompile(Collection<String> changedClasses) throws IOException {
+		if (project == null) {
+			throw new RuntimeException("Compiler was not executed");
+		}
+		CompilationContext previous = CompilationContext.enter(context);
+		try {
+			timings.clear();
+			long start = System.nanoTime();
+			for (String changed : changedClasses) {
+				fileManager.refresh(changed.replace('.', '/') + ".class");
+			}
+			Set<ClassUnit> invalid = new HashSet<>();
+			for (ClassUnit unit : project.getClasses()) {
+				String name = unit.getName();
+				for (String changed : changedClasses) {
+					if (name.equals(changed) || name.startsWith(changed + "$")) {
+						invalid.addAll(project.getDependencyIndex().getDependents(unit));
+					}
+				}
+			}
+			Log.getLogger().info("Recompiling " + changedClasses.size() + " changed classes, " + invalid.size()
+					+ " types to parse");
+
+			unresolve();
+			for (ClassUnit unit : invalid) {
+				unit.invalidate();
+			}
+
+			settings.errorCount = 0;
+			cache = null;
+			reusable.clear();
+			time("invalidate", start);
+			generate();
+			logStatistics();
+			start = System.nanoTime();
+			writeMethodCache();
+			time("cache", start);
+		} finally {
+			CompilationContext.exit(previous);
+		}
+	}
+
+	/**
+	 * Marks all classes and methods as not generated, keeping the parsed
+	 * types.
+	 */
+	private void unresolve() {
+		for (ClassUnit unit : project.getClasses()) {
+			unit.unresolve();
+			unit.setPartial(false);
+			if (unit.typeDecl != null) {
+				for (MethodDeclaration method : unit.typeDecl.getMethods()) {
+					method.visited = false;
+				}
+			}
+		}
+	}
+
+	private void logStatistics() {
+		Log.getLogger().info("Class cache: " + project.getClassCache());
+		Log.getLogger().info("Transformations: " + project.getTransformationStats());
+	}
+
+	private void writeMethodCache() throws IOException {
+		MethodCache methodCache = project.methodCache;
+		if (methodCache == null) {
+			return;
+		}
+		Log.getLogger().info("Method cache: " + methodCache.getHits() + " hits, " + methodCache.getMisses()
+				+ " misses");
+		methodCache.write(methodCacheFile);
+	}
+
+	/**
+	 * Processes all queued classes with a new generator and writes the
+	 * output. Classes parsed by a previous run are not parsed again.
+	 * <p>
+	 * The output files of reusable classes are kept. If such a file turns out
+	 * to be generated by other steps than recorded, for example because a
+	 * changed class needs another member of it, all queued classes are
+	 * processed again with the file generated.
+	 * </p>
+	 * 
+	 * @return the files written or kept
+	 */
+	private List<File> generate() {
+		long start = System.nanoTime();
+		int errorCount = settings.errorCount;
+		TypeScriptGenerator visitor;
+		while (true) {
+			visitor = new TypeScriptGenerator(project, this);
+			recorded.clear();
+			generate(visitor);
+			Set<String> rejected = getRejected();
+			if (rejected.isEmpty()) {
+				break;
+			}
+			Log.getLogger().info("Generating " + rejected.size() + " reused files again: " + rejected);
+			reusable.keySet().removeAll(rejected);
+			unresolve();
+			settings.errorCount = errorCount;
+		}
+		time("compile", start);
+		start = System.nanoTime();
+		List<File> kept = new ArrayList<>();
+		for (String name : reusable.keySet()) {
+			if (recorded.containsKey(name)) {
+				kept.add(new File(reusable.get(name).output));
+			}
+		}
+		List<File> files = visitor.writeToFile(kept);
+		time("write", start);
+		if (cache != null && !settings.singleFile) {
+			addEntries(visitor, files);
+		}
+		outputs = files;
+		return files;
+	}
+
+	private void generate(TypeScriptGenerator visitor) {
+		project.generator = visitor;
+		invoker = context.getRegistry().createInvoker(project, this, visitor);
 		visitor.setExtInvoker(invoker);
-		while (!classes.isEmpty()) {
-			String cls = classes.remove(0);
-			process(visitor, cls);
+		if (settings.workerCount > 1) {
+			workers = Executors.newFixedThreadPool(settings.workerCount, r -> {
+				Thread t = new Thread(() -> {
+					CompilationContext.enter(context);
+					r.run();
+				}, "j2ts-parser");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		try {
+			queue.clear();
+			queued.clear();
+			for (String cls : rootClasses) {
+				addClass(cls, Work.NORMAL);
+			}
+			generating = true;
+			Work work;
+			while ((work = queue.poll()) != null) {
+				process(visitor, work.cls);
+			}
+		} finally {
+			generating = false;
+			if (workers != null) {
+				shutdownWorkers();
+				workers = null;
+			}
+			parseTasks.clear();
+			speculated.clear();
+		}
+	}
+
+	/**
+	 * Discards the queued tasks and waits for the running ones. Parse and body
+	 * tasks do not react to interrupts and add units to the project, so they
+	 * must be done before the classes of the project are iterated.
+	 */
+	private void shutdownWorkers() {
+		workers.shutdownNow();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (workers.awaitTermination(1, TimeUnit.SECONDS)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return the reused output files which the last pass generated by other
+	 *         steps than recorded, by top level class name
+	 */
+	private Set<String> getRejected() {
+		Set<String> rejected = new TreeSet<>();
+		for (Map.Entry<String, BuildCache.Entry> e : reusable.entrySet()) {
+			BuildCache.Entry entry = recorded.get(e.getKey());
+			if (entry != null && !entry.steps.keySet().equals(e.getValue().steps.keySet())) {
+				rejected.add(e.getKey());
+			}
+		}
+		return rejected;
+	}
+
+	/**
+	 * Adds an entry for each output file of the last pass to the cache. The
+	 * dependencies of a generated file are the classes whose members it
+	 * references (see DependencyIndex), the classes it imports or queued, and
+	 * all their super types.
+	 */
+	private void addEntries(TypeScriptGenerator visitor, List<File> files) {
+		Set<String> written = new HashSet<>();
+		for (File file : files) {
+			written.add(file.getAbsolutePath());
+		}
+		DependencyIndex index = project.getDependencyIndex();
+		for (ClassUnit unit : project.getClasses()) {
+			for (ClassUnit dependent : index.getDependents(unit)) {
+				BuildCache.Entry entry = recorded.get(getTopLevelClass(dependent.getName()));
+				if (entry != null) {
+					entry.dependencies.add(unit.getName());
+				}
+			}
+		}
+
+		for (Map.Entry<String, BuildCache.Entry> e : recorded.entrySet()) {
+			String name = e.getKey();
+			BuildCache.Entry entry = reusable.get(name);
+			if (entry == null) {
+				entry = e.getValue();
+				entry.output = new File(settings.getBasedir(), name + "." + settings.ext).getAbsolutePath();
+				if (!written.contains(entry.output)) {
+					continue;
+				}
+				for (List<String[]> ops : entry.steps.values()) {
+					for (String[] op : ops) {
+						if (op[0].equals(BuildCache.Entry.CLASS)) {
+							entry.dependencies.add(op[1].split("#")[0]);
+						}
+					}
+				}
+				entry.dependencies.addAll(visitor.getImports(name));
+				for (String dependency : new ArrayList<>(entry.dependencies)) {
+					addSuperTypes(dependency, entry.dependencies);
+				}
+				entry.dependencies.removeAll(entry.classes);
+			}
+			cache.addEntry(name, entry, fileManager);
+		}
+	}
+
+	private void addSuperTypes(String className, Set<String> types) {
+		ClassHeader header = fileManager.getClassHeader(className);
+		if (header == null) {
+			return;
+		}
+		if (header.getSuperClassName() != null && types.add(header.getSuperClassName())) {
+			addSuperTypes(header.getSuperClassName(), types);
+		}
+		for (String name : header.getInterfaceNames()) {
+			if (types.add(name)) {
+				addSuperTypes(name, types);
+			}
+		}
+	}
+
+	private static String getTopLevelClass(String className) {
+		return className.split("\\$")[0];
+	}
+
+	/**
+	 * Starts to record the side effects of the specified step into the entry
+	 * of the output file of the specified class.
+	 * 
+	 * @return the recording to restore when the step is done
+	 */
+	private List<String[]> startStep(String className, String step) {
+		List<String[]> outer = recording;
+		if (cache != null) {
+			String name = getTopLevelClass(className);
+			BuildCache.Entry entry = recorded.get(name);
+			if (entry == null) {
+				entry = new BuildCache.Entry();
+				recorded.put(name, entry);
+			}
+			recording = entry.add(step);
+		}
+		return outer;
+	}
+
+	/**
+	 * Replays the recorded side effects of a step of a reused output file.
+	 */
+	private void replay(BuildCache.Entry entry, String step) {
+		List<String[]> ops = entry.steps.get(step);
+		if (ops == null) {
+			// Not a recorded step, see #getRejected().
+			return;
+		}
+		for (String[] op : ops) {
+			if (op[0].equals(BuildCache.Entry.CLASS)) {
+				addClass(op[1], Integer.parseInt(op[2]));
+			} else if (op[0].equals(BuildCache.Entry.ACCESSOR)) {
+				addFieldAccessor(op[1], op[2]);
+			}
+		}
+	}
+
+	private void time(String phase, long start) {
+		timings.merge(phase, (System.nanoTime() - start) / 1000000, Long::sum);
+	}
+
+	/**
+	 * @return the duration of each phase of the last execution or
+	 *         recompilation in milliseconds, in order of execution
+	 */
+	public Map<String, Long> getTimings() {
+		return new LinkedHashMap<>(timings);
+	}
+
+	/**
+	 * @return the files written by the last execution or recompilation. Empty
+	 *         if the output was up to date.
+	 */
+	public List<File> getOutputs() {
+		return outputs;
+	}
+
+	/**
+	 * Describes everything besides the class files which determines the output
+	 * of a compilation. Registered extensions are not part of the key, so the
+	 * cache must be cleared if they change.
+	 */
+	private String getCacheKey() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(rootClasses).append('|');
+		sb.append(classpath).append('|');
+		sb.append(settings.getBasedir().getAbsolutePath()).append('|');
+		sb.append(settings.singleFile).append('|');
+		sb.append(settings.fileName).append('|');
+		sb.append(settings.ext).append('|');
+		sb.append(new TreeSet<>(settings.denyClasses)).append('|');
+		sb.append(new TreeSet<>(settings.denyPkgs)).append('|');
+		sb.append(new TreeMap<>(fieldAccessors)).append('|');
+		sb.append(new TreeMap<>(context.getImports()));
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the parsed type declaration of the given class. When workers are
+	 * enabled the class may already have been parsed in the background;
+	 * otherwise it is parsed on the calling thread. Code generation always
+	 * happens on the calling thread, in the same order as a sequential run.
+	 */
+	public TypeDeclaration parse(ClassUnit unit) {
+		if (workers == null) {
+			return new Parser(project, unit).parse();
+		}
+		FutureTask<TypeDeclaration> task = newParseTask(unit);
+		FutureTask<TypeDeclaration> existing = parseTasks.putIfAbsent(unit.getName(), task);
+		if (existing != null) {
+			task = existing;
+		}
+		// No-op if a worker already started this task.
+		task.run();
+		try {
+			TypeDeclaration typeDecl = task.get();
+			if (!unit.isPartial()) {
+				parseBodies(typeDecl);
+			}
+			return typeDecl;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * Decompiles the method bodies of the specified type on the workers while
+	 * the generator visits the methods one after the other. Bodies for which
+	 * the method cache has an entry are left to the generator.
+	 */
+	private void parseBodies(TypeDeclaration typeDecl) {
+		ExecutorService pool = workers;
+		MethodCache methodCache = project.methodCache;
+		for (MethodDeclaration method : typeDecl.getMethods()) {
+			if (!method.isBodyDeferred()
+					|| (methodCache != null && methodCache.contains(method.getCacheKey()))) {
+				continue;
+			}
+			try {
+				pool.execute(method::parseDeferredBody);
+			} catch (RejectedExecutionException e) {
+				// Workers were shut down, the generator decompiles the bodies.
+				return;
+			}
+		}
+	}
+
+	private FutureTask<TypeDeclaration> newParseTask(ClassUnit unit) {
+		return new FutureTask<>(() -> {
+			Parser parser = new Parser(project, unit);
+			JavaClass jc = parser.getJavaClass();
+			// The super types are compiled right after this class.
+			if (!jc.getClassName().equals("java.lang.Object")) {
+				prefetchSuperType(jc.getSuperclassName());
+			}
+			for (String name : jc.getInterfaceNames()) {
+				prefetchSuperType(name);
+			}
+			if (settings.prefetchReferences) {
+				prefetchReferences(jc);
+			}
+			return parser.parse();
+		});
+	}
+
+	/**
+	 * Loads all classes referenced from the constant pool of the specified
+	 * class into the class cache, so that they need not be read and parsed
+	 * when the compiler reaches them. Classes loaded this way do not cause
+	 * further loads.
+	 */
+	private void prefetchReferences(JavaClass jc) {
+		ExecutorService pool = workers;
+		if (pool == null) {
+			return;
+		}
+		ConstantPool cp = jc.getConstantPool();
+		for (Constant constant : cp.getConstantPool()) {
+			if (!(constant instanceof ConstantClass)) {
+				continue;
+			}
+			String name = ((ConstantClass) constant).getBytes(cp).replace('/', '.');
+			if (name.startsWith("[") || !settings.allowClass.test(name) || parseTasks.containsKey(name)
+					|| !speculated.add(name)) {
+				continue;
+			}
+			try {
+				pool.execute(() -> load(name));
+			} catch (RejectedExecutionException e) {
+				// Workers were shut down.
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Loads the specified class into the class cache without creating a unit
+	 * for it.
+	 */
+	private void load(String name) {
+		try {
+			Parser.load(project, name, fileManager.getFileForInput(name.replace('.', '/') + ".class"));
+		} catch (RuntimeException e) {
+			// Reported if the compiler actually needs the class.
+			Log.getLogger().debug("Cannot prefetch " + name + ": " + e);
+		}
+	}
+
+	/**
+	 * Prefetches a super type of a class being parsed. A super type which this
+	 * run does not compile, because it is denied or its output is reused, is
+	 * only loaded.
+	 */
+	private void prefetchSuperType(String fqn) {
+		if (fqn.startsWith("[")) {
+			return;
+		}
+		if (settings.allowClass.test(fqn) && !reusable.containsKey(getTopLevelClass(fqn))) {
+			prefetch(project.getOrCreateClassUnit(fqn));
+		} else if (!parseTasks.containsKey(fqn) && speculated.add(fqn)) {
+			load(fqn);
+		}
+	}
+
+	private void prefetch(String fqn) {
+		if (workers == null || fqn.startsWith("[") || !settings.allowClass.test(fqn)) {
+			return;
+		}
+		prefetch(project.getOrCreateClassUnit(fqn));
+	}
+
+	private void prefetch(ClassUnit unit) {
+		ExecutorService pool = workers;
+		if (pool == null || unit.isResolved() || unit.typeDecl != null || unit.getName().startsWith("[")
+				|| reusable.containsKey(getTopLevelClass(unit.getName())) || !settings.allowClass.test(unit.toString())) {
+			return;
+		}
+		FutureTask<TypeDeclaration> task = newParseTask(unit);
+		if (parseTasks.putIfAbsent(unit.getName(), task) == null) {
+			try {
+				pool.execute(task);
+			} catch (RejectedExecutionException e) {
+				// Workers were shut down, the task is run on demand by parse().
+			}
 		}
-		visitor.writeToFile();
 	}
 
 	private void process(TypeScriptGenerator visitor, String cls) {
@@ -95,9 +760,19 @@ public class J2TSCompiler {
 		unit.setPartial(isPartial);
 		resolve(unit, visitor);
 		if (isPartial) {
-			MemberUnit mu = unit.getDeclaredMember(split[1]);
-			if (mu != null) {
-				resolve(mu, visitor);
+			List<String[]> outer = startStep(fqn, cls);
+			try {
+				BuildCache.Entry previous = reusable.get(getTopLevelClass(fqn));
+				if (previous != null) {
+					replay(previous, cls);
+					return;
+				}
+				MemberUnit mu = unit.getDeclaredMember(split[1]);
+				if (mu != null) {
+					resolve(mu, visitor);
+				}
+			} finally {
+				recording = outer;
 			}
 		}
 
@@ -155,7 +830,7 @@ public class J2TSCompiler {
 				}
 				compile(clazz, visitor);
 			} catch (RuntimeException ex) {
-				settings.errorCount++;
+				settings.incErrorCount();
 				logger.error(ex.toString());
 				// ex.printStackTrace();
 				if (settings.failOnError) {
@@ -165,6 +840,13 @@ public class J2TSCompiler {
 		}
 
 		ClassUnit superClass = clazz.getSuperUnit();
+		if (superClass != null) {
+			prefetch(superClass);
+		}
+		for (ClassUnit interfaceUnit : clazz.getInterfaces()) {
+			prefetch(interfaceUnit);
+		}
+
 		if (superClass != null) {
 			visitSuperTypes(superClass, visitor);
 		}
@@ -174,6 +856,37 @@ public class J2TSCompiler {
 		}
 	}
 
+	/**
+	 * A class or member to compile. Required classes come first, all others
+	 * in the order in which they were queued.
+	 */
+	private static class Work implements Comparable<Work> {
+
+		static final int REQUIRED = 0;
+
+		static final int NORMAL = 1;
+
+		String cls;
+
+		int priority;
+
+		long sequence;
+
+		Work(String cls, int priority, long sequence) {
+			this.cls = cls;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Work o) {
+			if (priority != o.priority) {
+				return Integer.compare(priority, o.priority);
+			}
+			return Long.compare(sequence, o.sequence);
+		}
+	}
+
 	private void compile(ClassUnit classUnit, TypeScriptGenerator visitor) {
 
 		if (classUnit.getClassFile() == null) {
@@ -181,17 +894,38 @@ public class J2TSCompiler {
 			return;
 		}
 
-		Log.getLogger().info("Cross-Compiling " + classUnit);
+		String name = classUnit.getName();
+		String step = "compile " + name + (classUnit.isPartial() ? "#" : "");
+		List<String[]> outer = startStep(name, step);
+		try {
+			BuildCache.Entry previous = reusable.get(getTopLevelClass(name));
+			if (previous != null) {
+				Log.getLogger().debug("Up to date " + classUnit);
+				replay(previous, step);
+				if (classUnit.typeDecl == null) {
+					project.setSuperTypes(classUnit);
+				}
+				return;
+			}
 
-		if (!classUnit.isPartial()) {
-			classUnit.getDeclaredMembers().forEach(m -> m.setResolved(true));
-		}
+			Log.getLogger().info("Cross-Compiling " + classUnit);
+
+			if (!classUnit.isPartial()) {
+				classUnit.getDeclaredMembers().forEach(m -> m.setResolved(true));
+			}
 
-		invoker.invoke("type.visit", null, new VisitorInput<ClassUnit>(classUnit, visitor));
+			invoker.invoke("type.visit", null, new VisitorInput<ClassUnit>(classUnit, visitor));
 
-		// Set not current date but date of last modification. This is
-		// independent of system clock.
-		classUnit.setLastCompiled(classUnit.getLastModified());
+			// Set not current date but date of last modification. This is
+			// independent of system clock.
+			classUnit.setLastCompiled(classUnit.getLastModified());
+			if (cache != null) {
+				recorded.get(getTopLevelClass(name)).classes.add(name);
+				cache.addClass(name, fileManager);
+			}
+		} finally {
+			recording = outer;
+		}
 	}
 
 	/**
@@ -233,7 +967,47 @@ public class J2TSCompiler {
 		}
 	}
 
+	/**
+	 * @param cacheFile
+	 *            (optional) file in which to record the compiled classes. If the
+	 *            classes did not change since, the next run will not compile
+	 *            anything.
+	 */
+	public void setCacheFile(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	public File getCacheFile() {
+		return cacheFile;
+	}
+
+	/**
+	 * @param methodCacheFile
+	 *            (optional) file in which the code generated for each method is
+	 *            kept between runs. Methods with unchanged byte code are then
+	 *            neither decompiled nor generated again.
+	 */
+	public void setMethodCacheFile(File methodCacheFile) {
+		this.methodCacheFile = methodCacheFile;
+	}
+
+	/**
+	 * @param classCache
+	 *            (optional) cache of parsed class files to use instead of a new
+	 *            one, for example to share parsed classes between compilations
+	 */
+	public void setClassCache(ClassCache classCache) {
+		this.classCache = classCache;
+	}
+
+	List<File> getClasspath() {
+		return classpath;
+	}
+
 	public void addFieldAccessor(String field, String code) {
+		if (recording != null) {
+			recording.add(new String[] { BuildCache.Entry.ACCESSOR, field, code });
+		}
 		this.fieldAccessors.put(field, code);
 	}
 
@@ -241,6 +1015,31 @@ public class J2TSCompiler {
 		return this.fieldAccessors.get(field);
 	}
 
+	/**
+	 * Returns the code of the specified synthetic field accessor method. If
+	 * its class was not generated yet, the code is derived from the parsed
+	 * method and the method is queued.
+	 * 
+	 * @return the code or null if the method cannot be found
+	 */
+	public String resolveFieldAccessor(String method) {
+		String code = getFieldAccessor(method);
+		if (code != null) {
+			return code;
+		}
+		addClass(method);
+		String fqn = method.split("#")[0];
+		TypeDeclaration type = settings.allowClass.test(fqn) ? getTypeDeclaration(fqn) : null;
+		MethodDeclaration decl = type != null ? type.getMethodBySignature(method) : null;
+		if (decl == null) {
+			return null;
+		}
+		decl.parseDeferredBody();
+		code = ((TypeScriptGenerator) project.generator).getFieldAccessorCode(decl);
+		addFieldAccessor(method, code);
+		return code;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> T getAttr(String key) {
 		return (T) attr.get(key);
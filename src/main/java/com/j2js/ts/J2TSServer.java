@@ -0,0 +1,328 @@
+package com.j2js.ts;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.json.JSONWriter;
+
+import com.j2js.ClassCache;
+import com.j2js.J2JSSettings;
+import com.j2js.Log;
+
+/**
+ * Compile server which keeps one JVM running for many compilations, so that
+ * the JIT warmup is paid only once. Requests and responses are JSON objects,
+ * one per line, read from stdin and written to stdout, or exchanged over a
+ * socket bound to the loopback address when started with
+ * <code>--port &lt;port&gt;</code>.
+ * <p>
+ * A request looks like
+ *
+ * <pre>
+ * {"id": 1, "classpath": ["build/classes"], "classes": ["com.acme.Main"],
+ *  "outputDir": "build/ts", "settings": {"singleFile": false, "workerCount": 4},
+ *  "fieldAccessors": {}, "cacheFile": "build/j2ts.cache", "methodCacheFile": "build/j2ts.methods"}
+ * </pre>
+ *
+ * While the request is compiled, log messages are streamed back as
+ * <code>{"id": 1, "event": "log", "level": "info", "message": "..."}</code>.
+ * Each request ends with
+ * <code>{"id": 1, "event": "result", "success": true, "errorCount": 0, "files": [...], "timings": {...}, "millis": 1234}</code>.
+ * The request <code>{"command": "shutdown"}</code> stops the server.
+ * </p>
+ */
+public class J2TSServer {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 2 && args[0].equals("--port")) {
+			new J2TSServer().listen(Integer.parseInt(args[1]));
+		} else if (args.length == 0) {
+			// Keep stdout for the protocol.
+			PrintStream out = System.out;
+			System.setOut(System.err);
+			new J2TSServer().serve(System.in, out);
+		} else {
+			System.err.println("Usage: java " + J2TSServer.class.getName() + " [--port <port>]");
+		}
+	}
+
+	private boolean shutdown;
+
+	// Parsed classes shared by all compilations.
+	private ClassCache classCache = new ClassCache(new J2JSSettings().classCacheSize);
+
+	/**
+	 * Accepts connections on the loopback address until a shutdown request is
+	 * received. Connections are served one after the other.
+	 */
+	public void listen(int port) throws IOException {
+		try (ServerSocket server = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+			Log.getLogger().info("Listening on " + server.getLocalSocketAddress());
+			while (!shutdown) {
+				try (Socket socket = server.accept()) {
+					serve(socket.getInputStream(), socket.getOutputStream());
+				} catch (IOException e) {
+					Log.getLogger().warn("Connection failed: " + e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Serves requests read from the specified stream until it ends or a
+	 * shutdown request is received.
+	 */
+	public void serve(InputStream in, OutputStream out) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		String line;
+		while (!shutdown && (line = reader.readLine()) != null) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			Object id = null;
+			try {
+				JSONObject request = new JSONObject(new JSONTokener(line));
+				id = request.opt("id");
+				if ("shutdown".equals(request.optString("command"))) {
+					shutdown = true;
+					send(writer, new JSONObject().putOpt("id", id).put("event", "shutdown"));
+				} else {
+					compile(request, id, writer);
+				}
+			} catch (Exception e) {
+				try {
+					send(writer, new JSONObject().putOpt("id", id).put("event", "result").put("success", false)
+							.put("error", e.toString()));
+				} catch (JSONException ex) {
+					throw new RuntimeException(ex);
+				}
+			}
+		}
+	}
+
+	private void compile(JSONObject request, Object id, Writer writer) throws Exception {
+		long start = System.nanoTime();
+		J2TSCompiler compiler = new J2TSCompiler();
+		compiler.getContext().setLogger(new StreamingLog(writer, id));
+		compiler.setClassCache(classCache);
+		configure(compiler, request);
+
+		JSONObject result = new JSONObject().putOpt("id", id).put("event", "result");
+		try {
+			compiler.execute();
+			result.put("success", compiler.settings.errorCount == 0);
+		} catch (Exception e) {
+			result.put("success", false).put("error", e.toString());
+		}
+		result.put("errorCount", compiler.settings.errorCount);
+		JSONArray files = new JSONArray();
+		for (File file : compiler.getOutputs()) {
+			files.put(file.getPath());
+		}
+		result.put("files", files);
+		JSONObject timings = new JSONObject();
+		for (Map.Entry<String, Long> timing : compiler.getTimings().entrySet()) {
+			timings.put(timing.getKey(), timing.getValue().longValue());
+		}
+		result.put("timings", timings);
+		result.put("millis", (System.nanoTime() - start) / 1000000);
+		send(writer, result);
+	}
+
+	private void configure(J2TSCompiler compiler, JSONObject request) throws JSONException {
+		if (request.has("outputDir")) {
+			compiler.settings.setBasedir(new File(request.getString("outputDir")));
+		}
+		JSONArray classpath = request.optJSONArray("classpath");
+		for (int i = 0; classpath != null && i < classpath.length(); i++) {
+			compiler.addClasspathElement(new File(classpath.getString(i)));
+		}
+		JSONArray classes = request.getJSONArray("classes");
+		for (int i = 0; i < classes.length(); i++) {
+			compiler.addClass(classes.getString(i));
+		}
+		JSONObject accessors = request.optJSONObject("fieldAccessors");
+		if (accessors != null) {
+			JSONArray names = accessors.names();
+			for (int i = 0; names != null && i < names.length(); i++) {
+				compiler.addFieldAccessor(names.getString(i), accessors.getString(names.getString(i)));
+			}
+		}
+		if (request.has("cacheFile")) {
+			compiler.setCacheFile(new File(request.getString("cacheFile")));
+		}
+		if (request.has("methodCacheFile")) {
+			compiler.setMethodCacheFile(new File(request.getString("methodCacheFile")));
+		}
+
+		JSONObject settings = request.optJSONObject("settings");
+		if (settings == null) {
+			return;
+		}
+		compiler.settings.singleFile = settings.optBoolean("singleFile", compiler.settings.singleFile);
+		compiler.settings.fileName = settings.optString("fileName", compiler.settings.fileName);
+		compiler.settings.ext = settings.optString("ext", compiler.settings.ext);
+		compiler.settings.workerCount = settings.optInt("workerCount", compiler.settings.workerCount);
+		compiler.settings.prefetchReferences = settings.optBoolean("prefetchReferences",
+				compiler.settings.prefetchReferences);
+		compiler.settings.failOnError = settings.optBoolean("failOnError", compiler.settings.failOnError);
+		compiler.settings.optimize = settings.optBoolean("optimize", compiler.settings.optimize);
+		compiler.settings.reductionLevel = settings.optInt("reductionLevel", compiler.settings.reductionLevel);
+		JSONArray denyClasses = settings.optJSONArray("denyClasses");
+		for (int i = 0; denyClasses != null && i < denyClasses.length(); i++) {
+			compiler.settings.denyClasses.add(denyClasses.getString(i));
+		}
+		JSONArray denyPkgs = settings.optJSONArray("denyPkgs");
+		for (int i = 0; denyPkgs != null && i < denyPkgs.length(); i++) {
+			compiler.settings.denyPkgs.add(denyPkgs.getString(i));
+		}
+	}
+
+	private static void send(Writer writer, JSONObject message) {
+		synchronized (writer) {
+			try {
+				JSONWriter json = new JSONWriter(writer).object();
+				JSONArray names = message.names();
+				for (int i = 0; names != null && i < names.length(); i++) {
+					String name = names.getString(i);
+					json.key(name).value(message.get(name));
+				}
+				json.endObject();
+				writer.write('\n');
+				writer.flush();
+			} catch (IOException | JSONException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Sends log messages of a compilation to the client instead of stdout.
+	 */
+	private static class StreamingLog extends Log {
+
+		private Writer writer;
+
+		private Object id;
+
+		StreamingLog(Writer writer, Object id) {
+			this.writer = writer;
+			this.id = id;
+		}
+
+		private void log(String level, CharSequence message, Throwable t) {
+			try {
+				JSONObject event = new JSONObject().putOpt("id", id).put("event", "log").put("level", level);
+				event.put("message", message == null ? String.valueOf(t) : message.toString());
+				if (message != null && t != null) {
+					event.put("exception", t.toString());
+				}
+				send(writer, event);
+			} catch (JSONException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		@Override
+		public void debug(CharSequence arg0, Throwable arg1) {
+			if (isDebugEnabled()) {
+				log("debug", arg0, arg1);
+			}
+		}
+
+		@Override
+		public void debug(CharSequence arg0) {
+			if (isDebugEnabled()) {
+				log("debug", arg0, null);
+			}
+		}
+
+		@Override
+		public void debug(Throwable arg0) {
+			if (isDebugEnabled()) {
+				log("debug", null, arg0);
+			}
+		}
+
+		@Override
+		public void info(CharSequence arg0, Throwable arg1) {
+			if (isInfoEnabled()) {
+				log("info", arg0, arg1);
+			}
+		}
+
+		@Override
+		public void info(CharSequence arg0) {
+			if (isInfoEnabled()) {
+				log("info", arg0, null);
+			}
+		}
+
+		@Override
+		public void info(Throwable arg0) {
+			if (isInfoEnabled()) {
+				log("info", null, arg0);
+			}
+		}
+
+		@Override
+		public void warn(CharSequence arg0, Throwable arg1) {
+			if (isWarnEnabled()) {
+				log("warn", arg0, arg1);
+			}
+		}
+
+		@Override
+		public void warn(CharSequence arg0) {
+			if (isWarnEnabled()) {
+				log("warn", arg0, null);
+			}
+		}
+
+		@Override
+		public void warn(Throwable arg0) {
+			if (isWarnEnabled()) {
+				log("warn", null, arg0);
+			}
+		}
+
+		@Override
+		public void error(CharSequence arg0, Throwable arg1) {
+			if (isErrorEnabled()) {
+				log("error", arg0, arg1);
+			}
+		}
+
+		@Override
+		public void error(CharSequence arg0) {
+			if (isErrorEnabled()) {
+				log("error", arg0, null);
+			}
+		}
+
+		@Override
+		public void error(Throwable arg0) {
+			if (isErrorEnabled()) {
+				log("error", null, arg0);
+			}
+		}
+	}
+}
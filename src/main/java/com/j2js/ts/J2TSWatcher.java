@@ -0,0 +1,130 @@
+package com.j2js.ts;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import com.j2js.Log;
+
+/**
+ * Keeps a compiler and its project in memory and recompiles whenever class
+ * files in one of the class path directories change. Jar files on the class
+ * path are not watched.
+ */
+public class J2TSWatcher {
+
+	private J2TSCompiler compiler;
+
+	private WatchService watchService;
+
+	// Class path directory by watched directory.
+	private Map<Path, Path> roots = new HashMap<>();
+
+	// Time to wait for further changes before recompiling, in milliseconds.
+	private long quietPeriod = 200;
+
+	public J2TSWatcher(J2TSCompiler compiler) {
+		this.compiler = compiler;
+	}
+
+	public void setQuietPeriod(long quietPeriod) {
+		this.quietPeriod = quietPeriod;
+	}
+
+	/**
+	 * Compiles all classes and then recompiles on each change until the
+	 * current thread is interrupted.
+	 */
+	public void run() throws Exception {
+		watchService = FileSystems.getDefault().newWatchService();
+		try {
+			for (File file : compiler.getClasspath()) {
+				if (file.isDirectory()) {
+					register(file.toPath(), file.toPath());
+				}
+			}
+			compiler.execute();
+
+			while (!Thread.currentThread().isInterrupted()) {
+				Set<String> changed = new TreeSet<>();
+				WatchKey key = watchService.take();
+				while (key != null) {
+					poll(key, changed);
+					key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+				}
+				if (!changed.isEmpty()) {
+					recompile(changed);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			watchService.close();
+		}
+	}
+
+	/**
+	 * Recompiles the specified classes. A failed compilation is logged, and
+	 * the next change triggers another attempt.
+	 */
+	private void recompile(Set<String> changed) {
+		try {
+			compiler.recompile(changed);
+		} catch (RuntimeException | IOException e) {
+			Log.getLogger().error("Could not recompile " + changed, e);
+		}
+	}
+
+	private void poll(WatchKey key, Set<String> changed) throws IOException {
+		Path dir = (Path) key.watchable();
+		Path root = roots.get(dir);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				Log.getLogger().warn("Lost file system events in " + dir);
+				continue;
+			}
+			Path path = dir.resolve((Path) event.context());
+			if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+				register(root, path);
+				continue;
+			}
+			String name = root.relativize(path).toString();
+			if (name.endsWith(".class")) {
+				name = name.substring(0, name.length() - ".class".length());
+				changed.add(name.replace(File.separatorChar, '.'));
+			}
+		}
+		if (!key.reset()) {
+			roots.remove(dir);
+		}
+	}
+
+	private void register(Path root, Path start) throws IOException {
+		Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+				roots.put(dir, root);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+}
@@ -0,0 +1,226 @@
+package com.j2js.ts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.bcel.classfile.Attribute;
+import org.apache.bcel.classfile.BootstrapMethods;
+import org.apache.bcel.classfile.Code;
+import org.apache.bcel.classfile.CodeException;
+import org.apache.bcel.classfile.ConstantPool;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.Method;
+import org.apache.bcel.classfile.Utility;
+
+import com.j2js.J2JSSettings;
+import com.j2js.Log;
+import com.j2js.assembly.Project;
+
+/**
+ * Cache of the code generated for single methods, keyed by a digest of the
+ * byte code of the method. On a hit, the method body is neither decompiled nor
+ * generated. Instead the cached code is copied and the recorded side effects
+ * on the compiler (imports, further classes to compile, field accessors) are
+ * replayed.
+ * <p>
+ * The cache assumes that registered extensions only depend on their input.
+ * </p>
+ */
+public class MethodCache {
+
+	// Change if the generated code changes for the same byte code.
+	private static final String VERSION = "2";
+
+	private Map<String, Entry> entries;
+
+	// Keys looked up or added in this run. Only these are persisted.
+	private Set<String> used = ConcurrentHashMap.newKeySet();
+
+	private int hits;
+
+	private int misses;
+
+	public MethodCache() {
+		this(new HashMap<String, Entry>());
+	}
+
+	private MethodCache(Map<String, Entry> entries) {
+		this.entries = new ConcurrentHashMap<>(entries);
+	}
+
+	/**
+	 * Returns the key of the specified method: A digest of its byte code with
+	 * all constant pool references resolved, its declaring class and the
+	 * settings which influence decompilation.
+	 */
+	public String getKey(Project project, JavaClass jc, Method method) {
+		J2JSSettings settings = project.getSettings();
+		ConstantPool cp = jc.getConstantPool();
+		Code code = method.getCode();
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(VERSION).append('|');
+		sb.append(settings.reductionLevel).append('|').append(settings.optimize).append('|');
+		sb.append(settings.generateLineNumbers).append('|').append(settings.ext).append('|');
+		sb.append(jc.getClassName()).append('|').append(jc.getSuperclassName()).append('|');
+		sb.append(jc.getAccessFlags()).append('|');
+		sb.append(method.getAccessFlags()).append('|').append(method.getName()).append(method.getSignature());
+		sb.append('\n');
+		sb.append(Utility.codeToString(code.getCode(), cp, 0, -1, false));
+		for (CodeException e : code.getExceptionTable()) {
+			sb.append(e.toString(cp)).append('\n');
+		}
+		if (code.getLocalVariableTable() != null) {
+			sb.append(code.getLocalVariableTable()).append('\n');
+		}
+		for (Attribute a : jc.getAttributes()) {
+			if (a instanceof BootstrapMethods) {
+				sb.append(a).append('\n');
+			}
+		}
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			StringBuilder key = new StringBuilder();
+			for (byte b : digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8))) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public boolean contains(String key) {
+		return entries.containsKey(key);
+	}
+
+	public Entry get(String key) {
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			used.add(key);
+			hits++;
+		} else {
+			misses++;
+		}
+		return entry;
+	}
+
+	public void put(String key, Entry entry) {
+		entries.put(key, entry);
+		used.add(key);
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Reads the cache from the specified file. Returns an empty cache if the
+	 * file does not exist or cannot be read.
+	 */
+	@SuppressWarnings("unchecked")
+	public static MethodCache read(File file) {
+		if (!file.exists()) {
+			return new MethodCache();
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			return new MethodCache((Map<String, Entry>) in.readObject());
+		} catch (Exception e) {
+			Log.getLogger().warn("Ignoring unreadable method cache " + file + ": " + e);
+			return new MethodCache();
+		}
+	}
+
+	/**
+	 * Writes all entries used by this run to the specified file.
+	 */
+	public void write(File file) throws IOException {
+		HashMap<String, Entry> live = new HashMap<>();
+		for (String key : used) {
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				live.put(key, entry);
+			}
+		}
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeObject(live);
+		}
+	}
+
+	/**
+	 * The code generated for a method together with the side effects of its
+	 * generation, in order of occurrence.
+	 */
+	public static class Entry implements Serializable {
+
+		static final long serialVersionUID = 1;
+
+		static final String IMPORT = "import";
+		static final String CLASS = "class";
+		static final String ACCESSOR = "accessor";
+		// Assumptions on other classes which must still hold.
+		static final String ENUM = "enum";
+		static final String REPLACER = "replacer";
+
+		int depth;
+
+		byte[] params;
+
+		byte[] body;
+
+		List<String[]> ops = new ArrayList<>();
+
+		transient boolean cacheable = true;
+
+		Entry(int depth) {
+			this.depth = depth;
+		}
+
+		void add(String... op) {
+			ops.add(op);
+		}
+
+		boolean isValid(Project project, int currentDepth) {
+			if (depth != currentDepth) {
+				return false;
+			}
+			for (String[] op : ops) {
+				if (op[0].equals(ENUM)) {
+					if (project.isEnum(op[1]) != Boolean.parseBoolean(op[2])) {
+						return false;
+					}
+				} else if (op[0].equals(REPLACER)) {
+					if (!op[3].equals(project.getMethodReplcerName(op[1], op[2]))) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+}
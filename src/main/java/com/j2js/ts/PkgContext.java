@@ -1,23 +1,38 @@
 package com.j2js.ts;
 
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
-import org.apache.bcel.generic.ObjectType;
-
+import com.j2js.ClassHeader;
+import com.j2js.Log;
 import com.j2js.dom.TypeDeclaration;
 import com.j2js.ext.ExtInvoker;
+import com.j2js.ts.TypeContext.TSPrintStream;
 
 public class PkgContext {
 
+	// Lists the files written into the output directory by the last run.
+	private static final String MANIFEST = ".j2ts-outputs";
+
 	private Map<String, TypeContext> clss = new HashMap<>();
 	private List<String> orderedClasses = new ArrayList<>();
 	private Set<String> generatedClasses = new HashSet<>();
@@ -40,14 +55,16 @@ public class PkgContext {
 				cls = new TypeContext(type);
 				clss.put(split[0], cls);
 			}
-			addToOrderedClasses(type);
+			addToOrderedClasses(name);
 			return cls;
 		} else {
 			TypeContext s = clss.get(split[0]);
 			if (s == null) {
-				compiler.addClass(split[0], true);
-				s = clss.get(split[0]);
-				if (s == null) {
+				// The outer class is generated later.
+				TypeDeclaration outer = compiler.require(split[0]);
+				if (outer != null) {
+					s = getType(outer, split[0]);
+				} else {
 					System.err.println("Need to skip this class " + name);
 				}
 			}
@@ -62,27 +79,31 @@ public class PkgContext {
 		}
 	}
 
-	private void addToOrderedClasses(TypeDeclaration type) {
-		String className = type.getClassName();
+	/**
+	 * Orders the specified class after its super class. The super class is
+	 * taken from the class header, so it need not be parsed.
+	 */
+	private void addToOrderedClasses(String className) {
 		generatedClasses.add(className);
-		ObjectType superType = type.getSuperType();
-		if (superType != null) {
-			if (orderedClasses.contains(superType.getClassName())) {
+		ClassHeader header = compiler.getProject().getClassHeader(className);
+		String superName = header != null ? header.getSuperClassName() : null;
+		if (superName != null) {
+			if (orderedClasses.contains(superName)) {
 				if (orderedClasses.contains(className)) {
 					int ci = orderedClasses.indexOf(className);
-					int si = orderedClasses.indexOf(superType.getClassName());
+					int si = orderedClasses.indexOf(superName);
 					if (si > ci) {
-						orderedClasses.remove(superType.getClassName());
-						orderedClasses.add(ci, superType.getClassName());
+						orderedClasses.remove(superName);
+						orderedClasses.add(ci, superName);
 					}
 				} else {
 					orderedClasses.add(className);
 				}
 			} else {
 				if (orderedClasses.contains(className)) {
-					orderedClasses.add(orderedClasses.indexOf(className), superType.getClassName());
+					orderedClasses.add(orderedClasses.indexOf(className), superName);
 				} else {
-					orderedClasses.add(superType.getClassName());
+					orderedClasses.add(superName);
 					orderedClasses.add(className);
 				}
 			}
@@ -93,21 +114,162 @@ public class PkgContext {
 		}
 	}
 
-	public void write(ExtInvoker inv, File base) {
+	/**
+	 * @return the classes imported by the generated code of the specified top
+	 *         level class
+	 */
+	public Set<String> getImports(String className) {
+		TypeContext cls = clss.get(className);
+		return cls != null ? cls.getImports() : Collections.<String> emptySet();
+	}
 
+	/**
+	 * Writes one file per class into the specified directory. Files whose
+	 * content did not change are not touched, and files written by a previous
+	 * run for classes which are no longer generated are deleted. The kept
+	 * files of classes which were not generated are left alone.
+	 * <p>
+	 * The files are rendered sequentially, as extensions are not required to
+	 * be thread safe, and then written in parallel.
+	 * </p>
+	 */
+	public List<File> write(ExtInvoker inv, File base, List<File> kept) {
+		TSPrintStream header = new TSPrintStream();
+		TSPrintStream footer = new TSPrintStream();
+		inv.invoke("file.create", header, null);
+		inv.invoke("file.end", footer, null);
+		byte[] head = header.toByteArray();
+		byte[] foot = footer.toByteArray();
+
+		List<File> files = new ArrayList<>();
+		List<byte[]> bodies = new ArrayList<>();
+		Set<File> dirs = new HashSet<>();
 		foreachOrdeby((s, st) -> {
 			File file = new File(base, s + "." + compiler.settings.ext);
 			try {
-				PrintStream single = new PrintStream(new FileOutputStream(file));
-				inv.invoke("file.create", single, null);
-				st.write(inv, single);
-				inv.invoke("file.end", single, null);
-				single.flush();
-				single.close();
+				TSPrintStream body = new TSPrintStream();
+				st.write(inv, body);
+				body.flush();
+				files.add(file);
+				bodies.add(body.toByteArray());
+				dirs.add(file.getAbsoluteFile().getParentFile());
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
 		});
+		for (File dir : dirs) {
+			dir.mkdirs();
+		}
+
+		AtomicInteger written = new AtomicInteger();
+		AtomicInteger unchanged = new AtomicInteger();
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int i = 0; i < files.size(); i++) {
+			File file = files.get(i);
+			byte[] body = bodies.get(i);
+			tasks.add(() -> {
+				try {
+					ByteBuffer[] content = { ByteBuffer.wrap(head), ByteBuffer.wrap(body), ByteBuffer.wrap(foot) };
+					(writeIfChanged(file, content) ? written : unchanged).incrementAndGet();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+				return null;
+			});
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, compiler.settings.workerCount));
+		try {
+			executor.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} finally {
+			executor.shutdown();
+		}
+
+		files.addAll(kept);
+		int deleted = deleteStale(base, files);
+		Log.getLogger().info("Wrote " + written + " files, " + unchanged + " unchanged, " + kept.size() + " kept, "
+				+ deleted + " deleted");
+		return files;
+	}
+
+	/**
+	 * Writes the content to the file unless the file already has that
+	 * content.
+	 * 
+	 * @return true if the file was written
+	 */
+	static boolean writeIfChanged(File file, byte[] content) throws IOException {
+		return writeIfChanged(file, new ByteBuffer[] { ByteBuffer.wrap(content) });
+	}
+
+	/**
+	 * Writes the concatenation of the specified buffers to the file with a
+	 * single gathering write, unless the file already has that content.
+	 * 
+	 * @return true if the file was written
+	 */
+	static boolean writeIfChanged(File file, ByteBuffer[] content) throws IOException {
+		long length = 0;
+		for (ByteBuffer buffer : content) {
+			length += buffer.remaining();
+		}
+		if (file.length() == length && file.exists() && hasContent(file, content)) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (length > 0) {
+				length -= channel.write(content);
+			}
+		}
+		return true;
+	}
+
+	private static boolean hasContent(File file, ByteBuffer[] content) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			for (ByteBuffer buffer : content) {
+				ByteBuffer existing = ByteBuffer.allocate(buffer.remaining());
+				while (existing.hasRemaining() && channel.read(existing) != -1) {
+				}
+				existing.flip();
+				if (!existing.equals(buffer)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Deletes the files listed in the manifest of the previous run which are
+	 * not among the specified files, and records the specified files in the
+	 * manifest.
+	 * 
+	 * @return the number of deleted files
+	 */
+	private int deleteStale(File base, List<File> files) {
+		File manifest = new File(base, MANIFEST);
+		Set<String> names = new LinkedHashSet<>();
+		for (File file : files) {
+			names.add(file.getName());
+		}
+		int deleted = 0;
+		try {
+			if (manifest.exists()) {
+				for (String name : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+					File stale = new File(base, name);
+					if (!name.isEmpty() && !names.contains(name) && stale.delete()) {
+						deleted++;
+					}
+				}
+			}
+			writeIfChanged(manifest, String.join("\n", names).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			Log.getLogger().error("Cannot update " + manifest, e);
+		}
+		return deleted;
 	}
 
 	public void write(ExtInvoker inv, PrintStream ps) {
@@ -171,5 +171,10 @@ public class TypeContext {
 			super(out);
 			this.out = out;
 		}
+
+		public byte[] toByteArray() {
+			flush();
+			return out.toByteArray();
+		}
 	}
 }
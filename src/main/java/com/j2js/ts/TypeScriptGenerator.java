@@ -1,18 +1,22 @@
 package com.j2js.ts;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.bcel.Constants;
 import org.apache.bcel.generic.ObjectType;
 
 import com.j2js.J2JSSettings;
+import com.j2js.Log;
 import com.j2js.assembly.Project;
 import com.j2js.dom.ASTNode;
 import com.j2js.dom.ArrayCreation;
@@ -47,6 +51,9 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 	private PkgContext pkg;
 	private ExtInvoker inv;
 
+	// Records the method currently generated for the method cache.
+	private MethodCache.Entry recording;
+
 	public TypeScriptGenerator(Project project, J2TSCompiler compiler) {
 		super(project);
 		this.compiler = compiler;
@@ -61,33 +68,61 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 		return context;
 	}
 
-	public void writeToFile() {
+	/**
+	 * @return the files written
+	 */
+	public List<File> writeToFile() {
+		return writeToFile(Collections.<File> emptyList());
+	}
+
+	/**
+	 * Writes the generated classes, keeping the specified files of classes
+	 * which were not generated because their output is up to date.
+	 * 
+	 * @return the files written or kept
+	 */
+	public List<File> writeToFile(List<File> kept) {
 		J2JSSettings settings = project.getSettings();
 		if (settings.singleFile) {
 			File file = new File(settings.getBasedir(), settings.fileName + "." + settings.ext);
 			try {
-				file.createNewFile();
-				PrintStream ps = new PrintStream(new FileOutputStream(file));
+				ByteArrayOutputStream content = new ByteArrayOutputStream();
+				PrintStream ps = new PrintStream(content);
 				inv.invoke("file.create", ps, null);
 				pkg.write(inv, ps);
 				inv.invoke("file.end", ps, null);
 				ps.flush();
 				ps.close();
+				boolean written = PkgContext.writeIfChanged(file, content.toByteArray());
+				Log.getLogger().info(written ? "Wrote " + file : "Unchanged " + file);
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
+			return Arrays.asList(file);
 		} else {
-			pkg.write(inv, settings.getBasedir());
+			return pkg.write(inv, settings.getBasedir(), kept);
 		}
 	}
 
+	/**
+	 * @return the classes imported by the generated code of the specified top
+	 *         level class
+	 */
+	public Set<String> getImports(String className) {
+		return pkg.getImports(className);
+	}
+
+	/**
+	 * Directs the generated code to the specified type, so that a member can be
+	 * generated after the type was visited.
+	 */
 	public void setStream(TypeDeclaration type) {
 		this.context = pkg.get(type);
+		this.typeDecl = type;
 	}
 
 	public void visit(TypeDeclaration type, boolean isPartial) {
 		setStream(type);
-		typeDecl = type;
 		depth++;
 		PrintStream out = getOutputStream();
 		try {
@@ -124,6 +159,17 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 				return;
 			}
 
+			MethodCache cache = project.methodCache;
+			String key = method.getCacheKey();
+			if (key != null) {
+				MethodCache.Entry entry = cache.get(key);
+				if (entry != null && entry.isValid(project, depth)) {
+					replay(method, entry);
+					return;
+				}
+				method.parseDeferredBody();
+			}
+
 			MethodBinding methodBinding = method.getMethodBinding();
 			// Do not generate abstract or native methods.
 			if (method.getBody() == null) {
@@ -134,6 +180,25 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 				throw new RuntimeException(
 						"Method " + method + " with access " + method.getAccess() + " may not have empty body");
 			}
+			MethodCache.Entry outer = recording;
+			recording = key != null ? new MethodCache.Entry(depth) : null;
+			try {
+				generateMethod(method);
+				if (recording != null && recording.cacheable) {
+					cache.put(key, recording);
+				}
+			} finally {
+				recording = outer;
+			}
+		} finally {
+			setOutputStream(out);
+		}
+	}
+
+	private void generateMethod(MethodDeclaration method) {
+		MethodBinding methodBinding = method.getMethodBinding();
+		PrintStream out = getOutputStream();
+		try {
 			if (!methodBinding.isConstructor()) {
 				String name = methodBinding.getName();
 				if (isFieldAccessor(name)) {
@@ -163,26 +228,88 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 			}
 
 			visit_(method.getBody());
+
+			if (recording != null) {
+				recording.params = mc.getParams().toByteArray();
+				recording.body = mc.getBody().toByteArray();
+			}
 		} finally {
 			setOutputStream(out);
 		}
 	}
 
+	/**
+	 * Writes the cached code of the specified method and replays the side
+	 * effects of its generation.
+	 */
+	private void replay(MethodDeclaration method, MethodCache.Entry entry) {
+		for (String[] op : entry.ops) {
+			if (op[0].equals(MethodCache.Entry.ACCESSOR)) {
+				compiler.addFieldAccessor(op[1], op[2]);
+			}
+		}
+		MethodContext mc = context.getMethod(method);
+		try {
+			mc.getParams().write(entry.params);
+			mc.getBody().write(entry.body);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		for (String[] op : entry.ops) {
+			if (op[0].equals(MethodCache.Entry.IMPORT)) {
+				context.addImports(new ObjectType(op[1]));
+			} else if (op[0].equals(MethodCache.Entry.CLASS)) {
+				addClass(op[1]);
+			}
+		}
+	}
+
+	private void addImports(ObjectType type) {
+		if (recording != null) {
+			recording.add(MethodCache.Entry.IMPORT, type.getClassName());
+		}
+		context.addImports(type);
+	}
+
+	private void addClass(String cls) {
+		if (recording != null) {
+			recording.add(MethodCache.Entry.CLASS, cls);
+		}
+		compiler.addClass(cls);
+	}
+
+	private boolean isEnum(ObjectType type) {
+		boolean isEnum = project.isEnum(type);
+		if (recording != null) {
+			recording.add(MethodCache.Entry.ENUM, type.getClassName(), Boolean.toString(isEnum));
+		}
+		return isEnum;
+	}
+
 	private void addFieldAccessor(MethodDeclaration method) {
-		MethodBinding binding = method.getMethodBinding();
-		Block body = method.getBody();
-		ASTNode node = body.getFirstChild();
+		String binding = method.getMethodBinding().toString();
+		String code = getFieldAccessorCode(method);
+		compiler.addFieldAccessor(binding, code);
+		if (recording != null) {
+			recording.add(MethodCache.Entry.ACCESSOR, binding, code);
+		}
+	}
+
+	/**
+	 * @return the code which replaces invocations of the specified synthetic
+	 *         field accessor method
+	 */
+	String getFieldAccessorCode(MethodDeclaration method) {
+		ASTNode node = method.getBody() != null ? method.getBody().getFirstChild() : null;
 		if (node instanceof ReturnStatement) {
 			ReturnStatement ret = (ReturnStatement) node;
 			if (ret.getExpression() instanceof FieldRead) {
 				FieldRead field = (FieldRead) ret.getExpression();
-				String name = field.getName();
-				compiler.addFieldAccessor(binding.toString(), normalizeAccess(name));
-				return;
+				return normalizeAccess(field.getName());
 			}
 		}
 		System.err.println("unknown access method");
-		compiler.addFieldAccessor(binding.toString(), "'unkwon access method'");
+		return "'unkwon access method'";
 	}
 
 	private boolean isFieldAccessor(String name) {
@@ -196,7 +323,7 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 	public void methodInvocation(MethodInvocation invocation) {
 		ASTNode expression = invocation.getExpression();
 		MethodBinding methodBinding = invocation.getMethodBinding();
-		compiler.addClass(methodBinding.toString());
+		addClass(methodBinding.toString());
 		if (invocation.isSpecial) {
 			if (!typeDecl.hasSuperClass() && methodBinding.isConstructor()) {
 				return;
@@ -219,13 +346,13 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 		}
 		String name = methodBinding.getName();
 		if (isFieldAccessor(name)) {
-			String code = compiler.getFieldAccessor(methodBinding.toString());
+			// The code depends on another class.
+			if (recording != null) {
+				recording.cacheable = false;
+			}
+			String code = compiler.resolveFieldAccessor(methodBinding.toString());
 			if (code == null) {
-				compiler.addClass(methodBinding.toString(), true);
-				code = compiler.getFieldAccessor(methodBinding.toString());
-				if (code == null) {
-					code = "'is null'";
-				}
+				code = "'is null'";
 			}
 			List arguments = invocation.getArguments();
 			if (!arguments.isEmpty()) {
@@ -236,9 +363,9 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 			print(code);
 			return;
 		} else if (expression == null) {
-			context.addImports(methodBinding.getDeclaringClass());
-			if (project.isEnum(methodBinding.getDeclaringClass())) {
-				compiler.addClass(methodBinding.getDeclaringClass().getClassName());
+			addImports(methodBinding.getDeclaringClass());
+			if (isEnum(methodBinding.getDeclaringClass())) {
+				addClass(methodBinding.getDeclaringClass().getClassName());
 			}
 			// Static invocation
 			print(methodBinding.getDeclaringClass().getClassName()).print(".");
@@ -249,6 +376,10 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 			}
 			name = project.getMethodReplcerName(methodBinding.getDeclaringClass().getClassName(),
 					methodBinding.getName());
+			if (recording != null) {
+				recording.add(MethodCache.Entry.REPLACER, methodBinding.getDeclaringClass().getClassName(),
+						methodBinding.getName(), name);
+			}
 			print(name);
 		}
 		print("(");
@@ -261,14 +392,14 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 	}
 
 	public void visit(ClassInstanceCreation cic) {
-		context.addImports(cic.getCreationType());
+		addImports(cic.getCreationType());
 		String type = cic.getCreationType().getClassName();
 		print("new ").print(type);
 		print("(");
 		List args = new ArrayList<>();
 		if (next instanceof MethodInvocation) {
 			MethodInvocation inv = (MethodInvocation) next;
-			compiler.addClass(inv.getMethodBinding().toString());
+			addClass(inv.getMethodBinding().toString());
 			args.addAll(inv.getArguments());
 			next = next.getNextSibling();
 		}
@@ -276,7 +407,7 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 		generateList(args);
 		print(")");
 		if (isAnonymousClass(type)) {
-			compiler.addClass(type);
+			addClass(type);
 		}
 	}
 
@@ -286,7 +417,7 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 
 	public void visit(VariableDeclaration decl) {
 		if (decl.getType() instanceof ObjectType) {
-			context.addImports((ObjectType) decl.getType());
+			addImports((ObjectType) decl.getType());
 		}
 		if (decl.getLocation() == VariableDeclaration.LOCAL_PARAMETER) {
 			print(decl.getName());
@@ -361,6 +492,9 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 			}
 		} catch (Throwable e) {
 			e.printStackTrace();
+			if (recording != null) {
+				recording.cacheable = false;
+			}
 		}
 		depth--;
 		this.next = prev;
@@ -384,7 +518,7 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 	public void visit(FieldAccess fr) {
 		ASTNode expression = fr.getExpression();
 		if (expression == null) {
-			if (project.isEnum(fr.getType())) {
+			if (isEnum(fr.getType())) {
 				print("'").print(fr.getName()).print("'");
 				return;
 			}
@@ -392,7 +526,7 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 			if (context.getType().getClassName().equals(className)) {
 				print(TSHelper.getSimpleName(className));
 			} else {
-				context.addImports(fr.getType());
+				addImports(fr.getType());
 				print(className);
 			}
 		} else {
@@ -420,7 +554,7 @@ public class TypeScriptGenerator extends JavaScriptGenerator {
 		node.getLeftOperand().visit(this);
 		print(" instanceof ");
 		ObjectType rightOperand = (ObjectType) node.getRightOperand();
-		context.addImports(rightOperand);
+		addImports(rightOperand);
 		print(rightOperand.getClassName());
 	}
 
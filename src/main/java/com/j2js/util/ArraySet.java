@@ -0,0 +1,145 @@
+package com.j2js.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Insertion ordered set backed by an array. Elements are compared by
+ * identity. Lookups are linear, so this is only suited for small sets like
+ * the edges of a control flow graph node, where it is much more compact than
+ * a LinkedHashSet.
+ */
+public class ArraySet<E> extends AbstractSet<E> {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private Object[] elements = EMPTY;
+
+	private int size;
+
+	private int modCount;
+
+	public ArraySet() {
+	}
+
+	public ArraySet(Collection<? extends E> c) {
+		elements = new Object[c.size()];
+		for (E e : c) {
+			add(e);
+		}
+	}
+
+	private int indexOf(Object o) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == o) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) != -1;
+	}
+
+	@Override
+	public boolean add(E e) {
+		if (indexOf(e) != -1) {
+			return false;
+		}
+		if (size == elements.length) {
+			Object[] newElements = new Object[size == 0 ? 2 : size * 2];
+			System.arraycopy(elements, 0, newElements, 0, size);
+			elements = newElements;
+		}
+		elements[size++] = e;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	private void removeAt(int index) {
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		elements[--size] = null;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			elements[i] = null;
+		}
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the element at the specified position in insertion order.
+	 */
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+		}
+		return (E) elements[index];
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			int cursor;
+
+			int last = -1;
+
+			int expectedModCount = modCount;
+
+			public boolean hasNext() {
+				return cursor < size;
+			}
+
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (cursor >= size) {
+					throw new NoSuchElementException();
+				}
+				last = cursor++;
+				return (E) elements[last];
+			}
+
+			public void remove() {
+				if (last == -1) {
+					throw new IllegalStateException();
+				}
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				removeAt(last);
+				cursor = last;
+				last = -1;
+				expectedModCount = modCount;
+			}
+		};
+	}
+}
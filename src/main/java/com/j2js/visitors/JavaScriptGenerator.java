@@ -187,7 +187,7 @@ public class JavaScriptGenerator extends Generator {
 			try {
 				method.visit(this);
 			} catch (RuntimeException ex) {
-				project.getSettings().errorCount++;
+				project.getSettings().incErrorCount();
 				throw Utils.generateException(ex, method, currentNode);
 			}
 		}
@@ -556,7 +556,7 @@ public class JavaScriptGenerator extends Generator {
 	}
 
 	public void visit(ClassLiteral literal) {
-		MethodBinding binding = MethodBinding.lookup("java.lang.Class", "forName",
+		MethodBinding binding = MethodBinding.lookup(project, "java.lang.Class", "forName",
 				"(Ljava/lang/String;)Ljava/lang/Class;");
 		MethodInvocation mi = new MethodInvocation(currentMethodDeclaration);
 		mi.setMethodBinding(project, binding);
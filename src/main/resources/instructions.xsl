@@ -32,6 +32,7 @@
   <xsl:template match="form">
     f = new Form();
     f.setIns(new Form.Value[]{<xsl:apply-templates select="in"/>});
+    f.setInCategories(0<xsl:apply-templates select="in" mode="category"/>);
     f.setOuts(new Form.Value[]{<xsl:apply-templates select="out"/>});
     f.setOperands(new Form.Value[]{<xsl:apply-templates select="operand"/>});
     i.setForm(f, <xsl:value-of select="position()-1"/>);
@@ -45,6 +46,8 @@
 
   <xsl:template match="in">new Form.Value("<xsl:value-of select="@type"/>","<xsl:value-of select="."/>"), </xsl:template>
 
+  <xsl:template match="in" mode="category"><xsl:if test="@type='cat2' or @type='long' or @type='double'"> | 1 &lt;&lt; <xsl:value-of select="last()-position()"/></xsl:if></xsl:template>
+
   <xsl:template match="operand">new Form.Value("<xsl:value-of select="@type"/>","<xsl:value-of select="."/>"), </xsl:template>
 
 </xsl:stylesheet>